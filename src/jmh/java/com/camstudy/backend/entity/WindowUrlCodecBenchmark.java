@@ -0,0 +1,67 @@
+package com.camstudy.backend.entity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Window.url / urlTitles 저장 형식 비교: Java 직렬화(변환기 없을 때 Hibernate 기본) vs StringArrayJsonConverter.
+ * GET /windows 는 창마다 두 배열을 읽으므로 decode 쪽이 페이지 로드마다 드는 비용입니다.
+ * 실행: ./gradlew jmh (gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당량도 비교)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WindowUrlCodecBenchmark {
+
+    // 창 하나에 담긴 URL 개수
+    @Param({"1", "10"})
+    public int size;
+
+    private final StringArrayJsonConverter converter = new StringArrayJsonConverter();
+
+    private String[] urls;
+    private byte[] serialized;
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        urls = new String[size];
+        for (int i = 0; i < size; i++) {
+            urls[i] = "https://www.youtube.com/watch?v=dQw4w9WgXc" + i + "&list=PLx0sYbCqOb8TBPRdmBHs5Iftvv9TPboYG";
+        }
+        serialized = javaSerialize(urls);
+        json = converter.convertToDatabaseColumn(urls);
+    }
+
+    @Benchmark
+    public byte[] javaSerializationEncode() throws IOException {
+        return javaSerialize(urls);
+    }
+
+    @Benchmark
+    public String[] javaSerializationDecode() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (String[]) in.readObject();
+        }
+    }
+
+    @Benchmark
+    public String jsonEncode() {
+        return converter.convertToDatabaseColumn(urls);
+    }
+
+    @Benchmark
+    public String[] jsonDecode() {
+        return converter.convertToEntityAttribute(json);
+    }
+
+    private static byte[] javaSerialize(String[] value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
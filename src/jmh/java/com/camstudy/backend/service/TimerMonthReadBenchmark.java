@@ -0,0 +1,84 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.BackendApplication;
+import com.camstudy.backend.dto.TimerDayView;
+import com.camstudy.backend.entity.Timer;
+import com.camstudy.backend.repository.TimerRepository;
+import com.camstudy.backend.repository.TimerUpsertRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /timer 월별 목록: 엔티티 조회(영속성 컨텍스트 + dirty checking) vs DTO 프로젝션 비교.
+ * application.yml의 DB(DB_HOST 등 환경 변수)에 접속하며, 벤치마크용 사용자의 한 달치 행을 만들고 끝나면 지웁니다.
+ * 실행: ./gradlew jmh (jmh 설정의 gc 프로파일러로 호출당 할당량 gc.alloc.rate.norm 도 함께 출력)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TimerMonthReadBenchmark {
+
+    private static final String USER_ID = "bench-month@camstudy.com";
+    private static final YearMonth MONTH = YearMonth.of(2024, 5);
+
+    private ConfigurableApplicationContext context;
+    private TimerRepository repo;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() {
+        SpringApplication app = new SpringApplication(BackendApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        context = app.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+
+        repo = context.getBean(TimerRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true); // 서비스의 @Transactional(readOnly = true)와 같은 조건
+
+        Map<LocalDate, Long> days = new TreeMap<>();
+        for (int d = 1; d <= MONTH.lengthOfMonth(); d++) {
+            days.put(MONTH.atDay(d), 3600L + d);
+        }
+        TimerUpsertRepository upsert = context.getBean(TimerUpsertRepository.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> upsert.addSeconds(USER_ID, days));
+    }
+
+    @TearDown
+    public void tearDown() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("DELETE FROM timer WHERE user_id = ?", USER_ID);
+        jdbc.update("DELETE FROM timer_monthly WHERE user_id = ?", USER_ID);
+        context.close();
+    }
+
+    /** 변경 전 경로: Timer 엔티티 목록 + 합계 계산 */
+    @Benchmark
+    public long entityPath() {
+        return readOnlyTx.execute(status -> {
+            List<Timer> entries = repo.findByUserIdAndDateBetween(USER_ID, MONTH.atDay(1), MONTH.atEndOfMonth());
+            return entries.stream().mapToLong(Timer::getTotalSeconds).sum();
+        });
+    }
+
+    /** 변경 후 경로: TimerDayView 프로젝션 + 같은 결과로 합계 계산 */
+    @Benchmark
+    public long projectionPath() {
+        return readOnlyTx.execute(status -> {
+            List<TimerDayView> entries = repo.findDayViews(USER_ID, MONTH.atDay(1), MONTH.atEndOfMonth());
+            return entries.stream().mapToLong(TimerDayView::totalSeconds).sum();
+        });
+    }
+}
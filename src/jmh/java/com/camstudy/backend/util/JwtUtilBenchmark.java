@@ -0,0 +1,45 @@
+package com.camstudy.backend.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 인증 오버헤드 측정용: 토큰 발급 / 검증 처리량.
+ * 실행: ./gradlew jmh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String EMAIL = "bench@camstudy.com";
+
+    private JwtUtil jwtUtil;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32]; // HS256 최소 256비트
+        Arrays.fill(key, (byte) 7);
+        jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(key));
+        accessToken = jwtUtil.createToken(EMAIL);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return jwtUtil.createToken(EMAIL);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validate(accessToken);
+    }
+
+    @Benchmark
+    public String getEmail() {
+        return jwtUtil.getEmail(accessToken);
+    }
+}
@@ -1,6 +1,6 @@
 package com.camstudy.backend.config;
 
-import com.camstudy.backend.util.JwtUtil;
+import com.camstudy.backend.util.JwtPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -19,7 +19,7 @@ import java.util.List;
 @Component // 이 클래스를 Spring 빈으로 등록하여 Spring 컨테이너가 관리하도록 함
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil; // JWT 관련 유틸리티 클래스 의존성 주입
+    private final JwtPrincipalCache principalCache; // 검증된 토큰 → 이메일 캐시 (요청마다 JWT를 다시 파싱하지 않도록)
 
     // JwtFilter가 적용되지 않을 (인증이 필요 없는) URL 경로 목록
     // SecurityConfig의 permitAll() 경로와 일치시키는 것이 중요합니다.
@@ -28,9 +28,9 @@ public class JwtFilter extends OncePerRequestFilter {
             "/error" // Spring Boot의 기본 에러 처리 경로
     );
 
-    // 생성자 주입: Spring이 JwtUtil 빈을 자동으로 주입
-    public JwtFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    // 생성자 주입: Spring이 JwtPrincipalCache 빈을 자동으로 주입
+    public JwtFilter(JwtPrincipalCache principalCache) {
+        this.principalCache = principalCache;
     }
 
     // 실제 필터 로직이 구현되는 메서드
@@ -41,11 +41,13 @@ public class JwtFilter extends OncePerRequestFilter {
         // 1. 요청에서 JWT AccessToken 쿠키 추출
         String token = extractToken(request);
 
-        // 2. 토큰이 없거나 유효하지 않은 경우 (혹은 shouldNotFilter에서 이미 걸러지지 않은 경우)
+        // 2. 토큰 검증 + 이메일(principal) 추출을 한 번에 처리
+        // 같은 토큰이 이미 검증된 적 있으면 캐시에서 바로 꺼내므로 서명 검증/파싱을 건너뜁니다.
+        String email = (token == null) ? null : principalCache.resolve(token);
+
+        // 토큰이 없거나 유효하지 않은 경우
         // 다음 필터로 넘기고 종료 (여기서 401을 직접 보내면 Spring Security의 다른 에러 처리와 충돌할 수 있음)
-        // 현재 로직은 토큰이 없거나 유효하지 않으면 아래 try-catch 블록에서 401을 보냅니다.
-        // shouldNotFilter를 통해 필터 자체를 건너뛰는 것이 더 효율적입니다.
-        if (token == null || !jwtUtil.validate(token)) {
+        if (email == null) {
              // 토큰이 없거나 유효하지 않지만, shouldNotFilter에서 걸러지지 않은 (인증이 필요한) 요청인 경우
              // Spring Security의 기본 ExceptionTranslationFilter가 처리하도록 chain.doFilter()만 호출
             chain.doFilter(request, response);
@@ -53,10 +55,7 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         try {
-            // 3. 토큰에서 사용자 이메일(principal) 추출
-            String email = jwtUtil.getEmail(token);
-
-            // 4. Spring Security의 SecurityContextHolder에 인증 정보 설정
+            // 3. Spring Security의 SecurityContextHolder에 인증 정보 설정
             // UsernamePasswordAuthenticationToken: 사용자 ID와 권한 정보를 담는 Authentication 구현체
             // email: 인증된 사용자의 주체 (Principal)
             // null: 자격 증명 (비밀번호 등. 인증 후에는 필요 없으므로 null)
@@ -70,7 +69,7 @@ public class JwtFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
         } catch (Exception e) {
-            // 5. 토큰 검증 중 예외 발생 (예: 토큰 만료, 변조 등)
+            // 4. 토큰 검증 중 예외 발생 (예: 토큰 만료, 변조 등)
             // 보안 컨텍스트를 비워서 인증 상태를 제거
             SecurityContextHolder.clearContext();
             // 클라이언트에 401 Unauthorized 응답 전송
@@ -78,7 +77,7 @@ public class JwtFilter extends OncePerRequestFilter {
             return; // 필터 체인 진행을 중단하고 응답 반환
         }
 
-        // 6. 모든 검증 및 설정이 완료되면 다음 필터로 요청 전달
+        // 5. 모든 검증 및 설정이 완료되면 다음 필터로 요청 전달
         chain.doFilter(request, response);
     }
 
@@ -1,18 +1,100 @@
 package com.camstudy.backend.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 사용자 비밀번호와 방 비밀번호가 함께 쓰는 단일 PasswordEncoder.
+ * 새 해시는 {bcrypt} 접두사로 저장되고, 접두사 없는 기존 해시(BCrypt / Argon2)도 그대로 검증됩니다.
+ * BCrypt strength는 시작 시 이 호스트에서 측정해 password.hash-budget-ms 안에 들어오는 최댓값으로 정합니다.
+ */
+@Slf4j
 @Configuration
 public class PasswordConfig {
 
+    private static final String ENCODING_ID = "bcrypt";
+    private static final int MIN_BCRYPT_STRENGTH = 10; // 기존 new BCryptPasswordEncoder() 기본값 (이보다 낮추지 않음)
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // Spring Security 5.8 기준 합리적 디폴트 파라미터
-        return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
-        // 필요 시 커스텀:
-        // return new Argon2PasswordEncoder(saltLength, hashLength, parallelism, memory, iterations);
+    public PasswordEncoder passwordEncoder(@Value("${password.hash-budget-ms:250}") long budgetMs) {
+        int strength = calibrateBCryptStrength(budgetMs);
+        log.info("BCrypt strength calibrated to {} (budget {} ms)", strength, budgetMs);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        // 기존 방 비밀번호 해시 검증용 (Spring Security 5.8 기준 디폴트 파라미터)
+        Argon2PasswordEncoder argon2 = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", argon2);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(ENCODING_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new LegacyHashMatcher(bcrypt, argon2));
+        return delegating;
+    }
+
+    /**
+     * BCrypt 비용은 strength가 1 오를 때마다 정확히 2배가 되므로,
+     * 최소 strength에서 한 번 측정한 뒤 예산 안에 들어오는 가장 큰 값을 계산합니다.
+     */
+    private static int calibrateBCryptStrength(long budgetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH);
+        probe.encode("calibration"); // 워밍업
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double costMs = bestNanos / 1_000_000.0;
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH && costMs * 2 <= budgetMs) {
+            costMs *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * 접두사({id}) 없이 저장된 기존 해시를 형식으로 구분해 검증 ($argon2... → Argon2, 나머지 → BCrypt).
+     * 새 해시는 DelegatingPasswordEncoder가 만들지만, 이 인코더를 직접 쓰더라도 예외 대신
+     * 자기가 다시 검증할 수 있는 BCrypt 해시를 돌려줍니다.
+     */
+    private static class LegacyHashMatcher implements PasswordEncoder {
+
+        private final PasswordEncoder bcrypt;
+        private final PasswordEncoder argon2;
+
+        LegacyHashMatcher(PasswordEncoder bcrypt, PasswordEncoder argon2) {
+            this.bcrypt = bcrypt;
+            this.argon2 = argon2;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return bcrypt.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            return encodedPassword.startsWith("$argon2")
+                    ? argon2.matches(rawPassword, encodedPassword)
+                    : bcrypt.matches(rawPassword, encodedPassword);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.camstudy.backend.config;
 
+import com.camstudy.backend.dto.TodoCursor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -58,6 +59,8 @@ public class SecurityConfig {
         ));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // 프런트 JS에서 읽어야 하는 응답 헤더
+        config.setExposedHeaders(List.of(TodoCursor.NEXT_CURSOR_HEADER, "ETag"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,5 +1,11 @@
 package com.camstudy.backend.controller;
 
+import com.camstudy.backend.dto.TodoCursor;
+import com.camstudy.backend.service.LeaderboardService;
+import com.camstudy.backend.service.PasswordHashingExecutor;
+import com.camstudy.backend.service.TimerService;
+import com.camstudy.backend.service.TodoService;
+import com.camstudy.backend.service.WindowService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,6 +24,15 @@ public class GlobalExceptionHandler {
             case "존재하지 않는 사용자", "비밀번호 불일치",
                  "리프레시 토큰이 유효하지 않습니다.", "리프레시 토큰이 존재하지 않습니다." -> HttpStatus.UNAUTHORIZED;
             case "이미 존재하는 이메일입니다." -> HttpStatus.CONFLICT;
+            case PasswordHashingExecutor.BUSY_MESSAGE -> HttpStatus.SERVICE_UNAVAILABLE;
+            case TimerService.BATCH_TOO_LARGE_MESSAGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case TimerService.INVALID_SESSION_MESSAGE -> HttpStatus.BAD_REQUEST;
+            case TodoCursor.INVALID_MESSAGE -> HttpStatus.BAD_REQUEST;
+            case TodoService.BULK_TOO_LARGE_MESSAGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case TodoService.INVALID_POSITION_MESSAGE -> HttpStatus.BAD_REQUEST;
+            case WindowService.LAYOUT_TOO_LARGE_MESSAGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case WindowService.INVALID_LAYOUT_MESSAGE -> HttpStatus.BAD_REQUEST;
+            case LeaderboardService.NOT_ROOM_MEMBER_MESSAGE -> HttpStatus.FORBIDDEN;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
 
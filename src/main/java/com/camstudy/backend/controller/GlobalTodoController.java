@@ -1,14 +1,21 @@
 // src/main/java/com/camstudy/backend/controller/GlobalTodoController.java
 package com.camstudy.backend.controller;
 
+import com.camstudy.backend.dto.BulkTodoDeleteRequest;
+import com.camstudy.backend.dto.BulkTodoResponse;
+import com.camstudy.backend.dto.BulkTodoUpdateRequest;
+import com.camstudy.backend.dto.TodoCursor;
+import com.camstudy.backend.dto.TodoPage;
 import com.camstudy.backend.dto.TodoResponse;
 import com.camstudy.backend.dto.UpdateDoneRequest;
 import com.camstudy.backend.dto.UpdateTodoRequest;
 import com.camstudy.backend.service.TodoService;
+import com.camstudy.backend.service.WorkspaceVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.ZoneId;
 import java.util.List;
@@ -20,24 +27,69 @@ import java.util.stream.Collectors;
 public class GlobalTodoController {
 
     private final TodoService svc;
+    private final WorkspaceVersions workspaceVersions;
 
     @GetMapping
     public ResponseEntity<List<TodoResponse>> getAllTodos(
             @RequestParam(required = false) String date,
             @RequestParam(required = false) Boolean done,
             @RequestParam(required = false) String order,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
             @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String timezone,
-            @AuthenticationPrincipal String userEmail) {
-        
+            @AuthenticationPrincipal String userEmail,
+            WebRequest request) {
+
+        // 마지막 조회 이후 변경이 없으면 DB 조회 없이 304 (타임존에 따라 date 필터 결과가 달라지므로 ETag에 포함)
+        if (request.checkNotModified(workspaceVersions.etag(userEmail, timezone))) {
+            return null;
+        }
         ZoneId userZone = ZoneId.of(timezone);
-        List<TodoResponse> response = svc.getAllTodosByUser(
-                userEmail, date, userZone, done, order)
+        TodoPage page = svc.getAllTodosByUser(
+                userEmail, date, userZone, done, order, limit, cursor);
+        List<TodoResponse> response = page.items()
+            .stream()
+            .map(TodoResponse::from)
+            .collect(Collectors.toList());
+        // 다음 페이지가 있으면 커서를 헤더로 (본문 형식은 기존 배열 그대로)
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            ok.header(TodoCursor.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return ok.body(response);
+    }
+
+    // 투두 텍스트 부분 문자열 검색
+    @GetMapping("/search")
+    public ResponseEntity<List<TodoResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal String userEmail) {
+        List<TodoResponse> response = svc.search(userEmail, q, limit)
             .stream()
             .map(TodoResponse::from)
             .collect(Collectors.toList());
         return ResponseEntity.ok(response);
     }
 
+    // 여러 투두 일괄 수정 (done / text)
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkTodoResponse> bulkUpdate(
+            @RequestBody BulkTodoUpdateRequest req,
+            @AuthenticationPrincipal String userEmail) {
+        return ResponseEntity.ok(
+            new BulkTodoResponse(svc.bulkUpdate(userEmail, req.ids(), req.done(), req.text()))
+        );
+    }
+
+    // 여러 투두 일괄 삭제
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkTodoResponse> bulkDelete(
+            @RequestBody BulkTodoDeleteRequest req,
+            @AuthenticationPrincipal String userEmail) {
+        return ResponseEntity.ok(new BulkTodoResponse(svc.bulkDelete(userEmail, req.ids())));
+    }
+
     @PatchMapping("/{todoId}")
     public ResponseEntity<TodoResponse> updateTodoTextGlobal(
             @PathVariable Long todoId,
@@ -0,0 +1,63 @@
+package com.camstudy.backend.controller;
+
+import com.camstudy.backend.dto.LiveTimerStartRequest;
+import com.camstudy.backend.dto.LiveTimerStatus;
+import com.camstudy.backend.service.LiveTimerRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.ZoneId;
+
+@Controller
+public class LiveTimerController {
+
+    private final LiveTimerRegistry registry;
+
+    public LiveTimerController(LiveTimerRegistry registry) {
+        this.registry = registry;
+    }
+
+    // 클라 발행:   /app/timer/start, /app/timer/heartbeat, /app/timer/stop
+    // 클라 구독:   /user/queue/timer
+    // 사용자는 /ws 핸드셰이크 때 JWT 쿠키로 인증된 Principal(이메일)
+    @MessageMapping("/timer/start")
+    @SendToUser("/queue/timer")
+    public LiveTimerStatus start(LiveTimerStartRequest req,
+                                 Principal principal,
+                                 @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String wsSessionId) {
+        String tz = (req == null || req.timezone() == null) ? "UTC" : req.timezone();
+        return registry.start(requireUser(principal), wsSessionId, ZoneId.of(tz));
+    }
+
+    @MessageMapping("/timer/heartbeat")
+    @SendToUser("/queue/timer")
+    public LiveTimerStatus heartbeat(Principal principal) {
+        return registry.heartbeat(requireUser(principal));
+    }
+
+    @MessageMapping("/timer/stop")
+    @SendToUser("/queue/timer")
+    public LiveTimerStatus stop(Principal principal) {
+        return registry.stop(requireUser(principal));
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() != null) {
+            registry.disconnected(event.getUser().getName(), event.getSessionId());
+        }
+    }
+
+    private static String requireUser(Principal principal) {
+        if (principal == null) {
+            throw new RuntimeException("인증이 필요합니다.");
+        }
+        return principal.getName();
+    }
+}
@@ -1,11 +1,15 @@
 // src/main/java/com/camstudy/backend/controller/TimerController.java
 package com.camstudy.backend.controller;
 
+import com.camstudy.backend.dto.LeaderboardResponse;
 import com.camstudy.backend.dto.TimerAnalyticsResponse;
 import com.camstudy.backend.dto.TimerGoalRequest;
 import com.camstudy.backend.dto.TimerGoalResponse;
+import com.camstudy.backend.dto.TimerHeatmapResponse;
+import com.camstudy.backend.dto.TimerMonthView;
+import com.camstudy.backend.dto.TimerSessionRequest;
 import com.camstudy.backend.dto.TodayTimeResponse;
-import com.camstudy.backend.entity.Timer;
+import com.camstudy.backend.service.LeaderboardService;
 import com.camstudy.backend.service.TimerService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -17,8 +21,10 @@ import java.util.List;
 @RequestMapping("/timer")
 public class TimerController {
     private final TimerService timerService;
-    public TimerController(TimerService timerService) {
+    private final LeaderboardService leaderboardService;
+    public TimerController(TimerService timerService, LeaderboardService leaderboardService) {
         this.timerService = timerService;
+        this.leaderboardService = leaderboardService;
     }
 
     @PostMapping
@@ -32,17 +38,24 @@ public class TimerController {
             userZone);
     }
 
+    // 오프라인 동안 쌓인 세션 일괄 기록 (JSON 배열)
+    @PostMapping("/batch")
+    public void recordBatch(@RequestBody List<TimerSessionRequest> sessions,
+                            @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String tz,
+                            @AuthenticationPrincipal String userEmail) {
+        ZoneId userZone = ZoneId.of(tz);
+        timerService.recordBatch(userEmail, sessions, userZone);
+    }
+
     @GetMapping
-    public TimerMonthlyResponse listByMonth(
+    public TimerMonthView listByMonth(
             @RequestParam int year,
             @RequestParam int month,
             @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String timezone,
             @AuthenticationPrincipal String userEmail) {
 
         ZoneId userZone = ZoneId.of(timezone);
-        List<Timer> entries = timerService.listByMonth(userEmail, year, month, userZone);
-        long total = timerService.getMonthlyTotal(userEmail, year, month, userZone);
-        return new TimerMonthlyResponse(entries, total);
+        return timerService.listByMonth(userEmail, year, month, userZone);
     }
 
     @GetMapping("/analytics")
@@ -56,6 +69,42 @@ public class TimerController {
         return timerService.getTimerAnalytics(userEmail, year, month, userZone);
     }
 
+    // 연간 히트맵 (월별 조회 12번 대신 한 번에)
+    @GetMapping("/heatmap")
+    public TimerHeatmapResponse getHeatmap(
+            @RequestParam int year,
+            @AuthenticationPrincipal String userEmail) {
+        return timerService.getHeatmap(userEmail, year);
+    }
+
+    // 일간 리더보드 (date 없으면 사용자 타임존 기준 오늘)
+    @GetMapping("/leaderboard")
+    public LeaderboardResponse getLeaderboard(
+            @RequestParam(required = false) String date,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String timezone,
+            @AuthenticationPrincipal String userEmail) {
+        return leaderboardService.global(resolveDate(date, timezone), clampLimit(limit), userEmail);
+    }
+
+    @GetMapping("/leaderboard/rooms/{roomId}")
+    public LeaderboardResponse getRoomLeaderboard(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String date,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String timezone,
+            @AuthenticationPrincipal String userEmail) {
+        return leaderboardService.room(roomId, resolveDate(date, timezone), clampLimit(limit), userEmail);
+    }
+
+    private static LocalDate resolveDate(String date, String timezone) {
+        return date == null ? LocalDate.now(ZoneId.of(timezone)) : LocalDate.parse(date);
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, 100));
+    }
+
     @GetMapping("/today")
     public TodayTimeResponse getTodayTime(
             @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String timezone,
@@ -106,15 +155,4 @@ public class TimerController {
         public String getStartAt() { return startAt; }
         public String getEndAt() { return endAt; }
     }
-
-    static class TimerMonthlyResponse {
-        private final List<Timer> entries;
-        private final long monthlyTotal;
-        public TimerMonthlyResponse(List<Timer> entries, long monthlyTotal) {
-            this.entries = entries;
-            this.monthlyTotal = monthlyTotal;
-        }
-        public List<Timer> getEntries() { return entries; }
-        public long getMonthlyTotal() { return monthlyTotal; }
-    }
 }
@@ -2,14 +2,19 @@
 package com.camstudy.backend.controller;
 
 import com.camstudy.backend.dto.AddTodoRequest;
+import com.camstudy.backend.dto.MoveTodoRequest;
+import com.camstudy.backend.dto.TodoCursor;
+import com.camstudy.backend.dto.TodoPage;
 import com.camstudy.backend.dto.TodoResponse;
 import com.camstudy.backend.dto.UpdateDoneRequest;
 import com.camstudy.backend.dto.UpdateTodoRequest;
 import com.camstudy.backend.service.TodoService;
+import com.camstudy.backend.service.WorkspaceVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.ZoneId;
 import java.util.List;
@@ -21,6 +26,7 @@ import java.util.stream.Collectors;
 public class TodoController {
     
     private final TodoService svc;
+    private final WorkspaceVersions workspaceVersions;
 
     @PostMapping
     public ResponseEntity<TodoResponse> add(@PathVariable Long winId,
@@ -36,16 +42,32 @@ public class TodoController {
             @RequestParam(required = false) String date,
             @RequestParam(required = false) Boolean done,
             @RequestParam(required = false) String order,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
             @RequestHeader(value = "X-User-Timezone", defaultValue = "UTC") String timezone,
-            @AuthenticationPrincipal String userEmail) {
+            @AuthenticationPrincipal String userEmail,
+            WebRequest request) {
 
+        // 남의 창에 304를 주지 않도록 소유권부터 확인 (창 PK 조회 한 번)
+        svc.checkWindowOwner(userEmail, winId);
+        // 마지막 조회 이후 변경이 없으면 목록 조회 없이 304
+        // (창마다 목록이 다르고, 타임존에 따라 date 필터 결과가 달라지므로 둘 다 ETag에 포함)
+        if (request.checkNotModified(workspaceVersions.etag(userEmail, winId + "|" + timezone))) {
+            return null;
+        }
         ZoneId userZone = ZoneId.of(timezone);
-        List<TodoResponse> response = svc.getTodosByWindow(
-                userEmail, winId, date, userZone, done, order)
+        TodoPage page = svc.getTodosByWindow(
+                userEmail, winId, date, userZone, done, order, limit, cursor);
+        List<TodoResponse> response = page.items()
             .stream()
             .map(TodoResponse::from)
             .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        // 다음 페이지가 있으면 커서를 헤더로 (본문 형식은 기존 배열 그대로)
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            ok.header(TodoCursor.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return ok.body(response);
     }
 
     @PatchMapping("/{todoId}")
@@ -58,6 +80,17 @@ public class TodoController {
         );
     }
 
+    // 드래그 앤 드롭: prevId와 nextId 사이로 이동 (맨 앞/맨 뒤면 해당 쪽 null)
+    @PatchMapping("/{todoId}/position")
+    public ResponseEntity<TodoResponse> move(@PathVariable Long winId,
+                                             @PathVariable Long todoId,
+                                             @RequestBody MoveTodoRequest req,
+                                             @AuthenticationPrincipal String userEmail) {
+        return ResponseEntity.ok(
+            TodoResponse.from(svc.move(userEmail, winId, todoId, req.prevId(), req.nextId()))
+        );
+    }
+
     @DeleteMapping("/{todoId}")
     public ResponseEntity<Void> delete(@PathVariable Long winId,
                                        @PathVariable Long todoId,
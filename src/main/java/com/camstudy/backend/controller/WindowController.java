@@ -1,11 +1,15 @@
 // src/main/java/com/camstudy/backend/controller/WindowController.java
 package com.camstudy.backend.controller;
 
+import com.camstudy.backend.dto.WindowFocusResponse;
+import com.camstudy.backend.dto.WindowLayoutItem;
 import com.camstudy.backend.dto.WindowPatchDto;
 import com.camstudy.backend.entity.Window;
 import com.camstudy.backend.service.WindowService;
+import com.camstudy.backend.service.WorkspaceVersions;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,12 +18,18 @@ import java.util.List;
 public class WindowController {
 
     private final WindowService windowService;
-    public WindowController(WindowService windowService) {
+    private final WorkspaceVersions workspaceVersions;
+    public WindowController(WindowService windowService, WorkspaceVersions workspaceVersions) {
         this.windowService = windowService;
+        this.workspaceVersions = workspaceVersions;
     }
 
     @GetMapping
-    public List<Window> getWindows(@AuthenticationPrincipal String userEmail) {
+    public List<Window> getWindows(@AuthenticationPrincipal String userEmail, WebRequest request) {
+        // 마지막 조회 이후 변경이 없으면 DB 조회 없이 304
+        if (request.checkNotModified(workspaceVersions.etag(userEmail, null))) {
+            return null;
+        }
         return windowService.findAllByUser(userEmail);
     }
 
@@ -36,6 +46,13 @@ public class WindowController {
         return windowService.partialUpdate(id, dto, userEmail);
     }
 
+    // 작업 공간 배치 전체 저장: [{id, x, y, width, height, zIndex, type}, ...]
+    @PutMapping("/layout")
+    public void saveLayout(@RequestBody List<WindowLayoutItem> items,
+                           @AuthenticationPrincipal String userEmail) {
+        windowService.saveLayout(userEmail, items);
+    }
+
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id,
                        @AuthenticationPrincipal String userEmail) {
@@ -43,7 +60,7 @@ public class WindowController {
     }
 
     @PostMapping("/{id}/focus")
-    public List<Window> focus(@PathVariable Long id,
+    public WindowFocusResponse focus(@PathVariable Long id,
                               @AuthenticationPrincipal String userEmail) {
         return windowService.focusWindow(id, userEmail);
     }
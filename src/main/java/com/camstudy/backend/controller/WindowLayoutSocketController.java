@@ -0,0 +1,37 @@
+package com.camstudy.backend.controller;
+
+import com.camstudy.backend.dto.WindowLayoutDelta;
+import com.camstudy.backend.service.WindowLayoutBuffer;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+
+@Controller
+public class WindowLayoutSocketController {
+
+    private final WindowLayoutBuffer layoutBuffer;
+
+    public WindowLayoutSocketController(WindowLayoutBuffer layoutBuffer) {
+        this.layoutBuffer = layoutBuffer;
+    }
+
+    // 클라 발행: /app/windows/layout  {id, x, y, width, height, end}
+    // 마우스 이벤트마다 보내도 되고, 드래그가 끝나면 end=true 로 한 번 더 보냄 (응답 없음)
+    @MessageMapping("/windows/layout")
+    public void layout(WindowLayoutDelta delta, Principal principal) {
+        if (principal == null) {
+            throw new RuntimeException("인증이 필요합니다.");
+        }
+        layoutBuffer.add(principal.getName(), delta);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() != null) {
+            layoutBuffer.flushUser(event.getUser().getName());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.camstudy.backend.dto;
+
+import java.util.List;
+
+public record BulkTodoDeleteRequest(List<Long> ids) {
+}
@@ -0,0 +1,7 @@
+package com.camstudy.backend.dto;
+
+import java.util.List;
+
+/** 일괄 처리에서 실제로 반영된 투두 id (요청 중 없는 id나 다른 사용자의 id는 빠짐) */
+public record BulkTodoResponse(List<Long> affectedIds) {
+}
@@ -0,0 +1,7 @@
+package com.camstudy.backend.dto;
+
+import java.util.List;
+
+/** 여러 투두를 한 번에 수정: done/text 중 null이 아닌 값만 적용 */
+public record BulkTodoUpdateRequest(List<Long> ids, Boolean done, String text) {
+}
@@ -0,0 +1,16 @@
+package com.camstudy.backend.dto;
+
+import java.util.List;
+
+/**
+ * 일간 집중 시간 리더보드.
+ * me: 요청한 사용자의 순위 (그날 기록이 없으면 rank = null)
+ */
+public record LeaderboardResponse(
+    String date,
+    int participants,
+    List<Entry> top,
+    Entry me
+) {
+    public record Entry(Integer rank, String username, long totalSeconds) {}
+}
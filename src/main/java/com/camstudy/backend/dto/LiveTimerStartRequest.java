@@ -0,0 +1,6 @@
+package com.camstudy.backend.dto;
+
+/** STOMP /app/timer/start 페이로드 (timezone 없으면 UTC) */
+public record LiveTimerStartRequest(
+    String timezone
+) {}
@@ -0,0 +1,11 @@
+package com.camstudy.backend.dto;
+
+/**
+ * /user/queue/timer 로 보내는 실시간 타이머 상태.
+ * recordedSeconds: 이번 세션에서 지금까지 timer 테이블에 반영된 초
+ */
+public record LiveTimerStatus(
+    boolean running,
+    String startedAt,
+    long recordedSeconds
+) {}
@@ -0,0 +1,61 @@
+package com.camstudy.backend.dto;
+
+import com.camstudy.backend.entity.TimerMonthly;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 한 달치 타이머 집계 (불변).
+ * @param weekdaySeconds 합계가 0보다 큰 요일만 포함
+ * @param bestDate 집중 시간이 가장 긴 날 (기록이 없으면 null)
+ */
+public record MonthlyTimerSummary(
+    long totalSeconds,
+    Map<DayOfWeek, Long> weekdaySeconds,
+    LocalDate bestDate,
+    long bestSeconds
+) {
+    public static MonthlyTimerSummary from(TimerMonthly m) {
+        EnumMap<DayOfWeek, Long> weekdays = new EnumMap<>(DayOfWeek.class);
+        putIfPositive(weekdays, DayOfWeek.MONDAY, m.getMonSeconds());
+        putIfPositive(weekdays, DayOfWeek.TUESDAY, m.getTueSeconds());
+        putIfPositive(weekdays, DayOfWeek.WEDNESDAY, m.getWedSeconds());
+        putIfPositive(weekdays, DayOfWeek.THURSDAY, m.getThuSeconds());
+        putIfPositive(weekdays, DayOfWeek.FRIDAY, m.getFriSeconds());
+        putIfPositive(weekdays, DayOfWeek.SATURDAY, m.getSatSeconds());
+        putIfPositive(weekdays, DayOfWeek.SUNDAY, m.getSunSeconds());
+        return new MonthlyTimerSummary(m.getTotalSeconds(), Collections.unmodifiableMap(weekdays),
+                m.getBestDate(), m.getBestSeconds());
+    }
+
+    /** 날짜별 합계로부터 한 번에 집계 */
+    public static MonthlyTimerSummary fromDailyTotals(Map<LocalDate, Long> dailyTotals) {
+        long total = 0;
+        EnumMap<DayOfWeek, Long> weekdays = new EnumMap<>(DayOfWeek.class);
+        LocalDate bestDate = null;
+        long bestSeconds = 0;
+        for (Map.Entry<LocalDate, Long> e : dailyTotals.entrySet()) {
+            LocalDate date = e.getKey();
+            long secs = e.getValue();
+            total += secs;
+            if (secs > 0) {
+                weekdays.merge(date.getDayOfWeek(), secs, Long::sum);
+            }
+            if (secs > bestSeconds || (secs == bestSeconds && secs > 0 && date.isBefore(bestDate))) {
+                bestDate = date;
+                bestSeconds = secs;
+            }
+        }
+        return new MonthlyTimerSummary(total, Collections.unmodifiableMap(weekdays), bestDate, bestSeconds);
+    }
+
+    private static void putIfPositive(Map<DayOfWeek, Long> map, DayOfWeek day, long secs) {
+        if (secs > 0) {
+            map.put(day, secs);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.camstudy.backend.dto;
+
+/** 옮길 위치의 앞(prevId)/뒤(nextId) 투두. 맨 앞이면 prevId, 맨 뒤면 nextId가 null */
+public record MoveTodoRequest(Long prevId, Long nextId) {
+}
@@ -13,6 +13,7 @@ public class TimerAnalyticsResponse {
     private MonthComparison monthComparison;
     private Map<DayOfWeek, Long> weekdayStats;
     private BestFocusDay bestFocusDay;
+    private GoalStreak goalStreak;
 
     @Getter
     @Builder
@@ -30,4 +31,12 @@ public class TimerAnalyticsResponse {
         private long totalSeconds;
         private int dailyHourGoal;
     }
-}
\ No newline at end of file
+
+    @Getter
+    @Builder
+    public static class GoalStreak {
+        private int currentStreak;  // 어제 또는 오늘까지 이어진 연속 달성 일수 (끊겼으면 0)
+        private int longestStreak;
+        private String lastMetDate; // 마지막 달성일 (없으면 null)
+    }
+}
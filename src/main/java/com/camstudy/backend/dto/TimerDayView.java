@@ -0,0 +1,15 @@
+package com.camstudy.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 월별 목록용 timer 행 읽기 전용 뷰.
+ * JPQL 생성자 표현식으로 바로 만들어지므로 영속성 컨텍스트에 올라가지 않습니다 (JSON 필드는 Timer 엔티티와 동일).
+ */
+public record TimerDayView(
+    Long id,
+    String userId,
+    LocalDate date,
+    long totalSeconds,
+    int pomoCycles
+) {}
@@ -0,0 +1,11 @@
+package com.camstudy.backend.dto;
+
+/**
+ * 연간 히트맵: dailySeconds[i] = startDate로부터 i일째의 집중 시간(초).
+ * 길이는 그 해의 일 수(365/366)이며 기록이 없는 날은 0입니다.
+ */
+public record TimerHeatmapResponse(
+    int year,
+    String startDate,
+    int[] dailySeconds
+) {}
@@ -0,0 +1,9 @@
+package com.camstudy.backend.dto;
+
+import java.util.List;
+
+/** GET /timer 응답: 한 달치 날짜별 기록과 합계 */
+public record TimerMonthView(
+    List<TimerDayView> entries,
+    long monthlyTotal
+) {}
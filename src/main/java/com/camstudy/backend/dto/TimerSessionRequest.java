@@ -0,0 +1,7 @@
+package com.camstudy.backend.dto;
+
+/** 오프라인 동안 쌓인 세션 하나 (ISO-8601 Instant 문자열) */
+public record TimerSessionRequest(
+    String startAt,
+    String endAt
+) {}
@@ -0,0 +1,31 @@
+package com.camstudy.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * 투두 목록 keyset 페이지네이션 커서: 마지막으로 받은 항목의 (createdAt, id).
+ * 클라이언트에는 base64url 문자열로만 노출되므로 형식을 바꿔도 API는 그대로입니다.
+ */
+public record TodoCursor(Instant createdAt, Long id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String INVALID_MESSAGE = "잘못된 커서입니다.";
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TodoCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(INVALID_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.camstudy.backend.dto;
+
+import com.camstudy.backend.entity.TodoItem;
+
+import java.util.List;
+
+/** 투두 목록 한 페이지. nextCursor가 null이면 마지막 페이지 */
+public record TodoPage(
+    List<TodoItem> items,
+    String nextCursor
+) {}
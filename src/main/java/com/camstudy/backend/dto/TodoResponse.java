@@ -7,7 +7,8 @@ public record TodoResponse(
     Long id,
     String text,
     boolean done,
-    String createdAt
+    String createdAt,
+    String rank
 ) {
     /**
      * TodoItem 엔티티를 TodoResponse DTO로 변환합니다.
@@ -23,7 +24,8 @@ public record TodoResponse(
             todoItem.getId(),
             todoItem.getText(),
             todoItem.isDone(),
-            formattedDate
+            formattedDate,
+            todoItem.getSortRank()
         );
     }
 }
\ No newline at end of file
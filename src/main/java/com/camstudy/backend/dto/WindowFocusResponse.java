@@ -0,0 +1,5 @@
+package com.camstudy.backend.dto;
+
+/** 포커스로 바뀐 창 하나의 z-index (다른 창들은 그대로) */
+public record WindowFocusResponse(Long id, int zIndex) {
+}
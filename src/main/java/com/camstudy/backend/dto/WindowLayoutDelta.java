@@ -0,0 +1,18 @@
+package com.camstudy.backend.dto;
+
+/**
+ * 드래그/리사이즈 중 WebSocket으로 오는 창 위치·크기 변경 (null 필드는 그대로 둠).
+ * end=true 면 드래그가 끝난 것이므로 모아둔 값을 바로 저장합니다.
+ */
+public record WindowLayoutDelta(Long id, Integer x, Integer y, Integer width, Integer height, boolean end) {
+
+    /** 나중에 온 값 우선으로 합침 */
+    public WindowLayoutDelta mergedWith(WindowLayoutDelta newer) {
+        return new WindowLayoutDelta(id,
+                newer.x != null ? newer.x : x,
+                newer.y != null ? newer.y : y,
+                newer.width != null ? newer.width : width,
+                newer.height != null ? newer.height : height,
+                newer.end);
+    }
+}
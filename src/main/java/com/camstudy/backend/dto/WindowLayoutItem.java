@@ -0,0 +1,13 @@
+package com.camstudy.backend.dto;
+
+import com.camstudy.backend.entity.WindowType;
+
+/** PUT /windows/layout 의 창 하나 (id 외의 null 필드는 그대로 둠) */
+public record WindowLayoutItem(Long id,
+                               Integer x,
+                               Integer y,
+                               Integer width,
+                               Integer height,
+                               Integer zIndex,
+                               WindowType type) {
+}
@@ -0,0 +1,36 @@
+package com.camstudy.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일일 목표 연속 달성 기록.
+ * 기록으로 어떤 날이 목표를 처음 넘길 때 GoalStreakService가 갱신하므로 조회 시 timer 이력을 훑지 않습니다.
+ */
+@Entity
+@Table(
+    name = "goal_streak",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"userId"})
+)
+@Getter @Setter
+@NoArgsConstructor
+public class GoalStreak {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String userId;
+
+    // lastMetDate로 끝나는 연속 달성 일수
+    private int currentStreak;
+
+    private int longestStreak;
+
+    // 마지막으로 목표를 달성한 날 (사용자 로컬 날짜)
+    private LocalDate lastMetDate;
+}
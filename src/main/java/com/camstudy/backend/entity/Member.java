@@ -7,7 +7,10 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "members")
+@Table(name = "members", indexes = {
+    @Index(name = "idx_members_room_active", columnList = "room_id, active"),
+    @Index(name = "idx_members_room_user", columnList = "room_id, userId")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Member {
 
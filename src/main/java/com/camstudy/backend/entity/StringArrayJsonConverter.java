@@ -0,0 +1,42 @@
+package com.camstudy.backend.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * String[] ↔ JSON 배열 문자열 (["a","b"]).
+ * 변환기가 없으면 Hibernate가 Java 직렬화 바이너리로 저장하므로, 창을 읽고 쓸 때마다
+ * ObjectInputStream/ObjectOutputStream 비용이 들고 DB에서 값을 읽을 수도 없습니다.
+ */
+@Converter
+public class StringArrayJsonConverter implements AttributeConverter<String[], String> {
+
+    // 설정을 바꾸지 않으므로 스레드 간 공유 가능
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(String[] attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("String[] → JSON 변환 실패", e);
+        }
+    }
+
+    @Override
+    public String[] convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(dbData, String[].class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON → String[] 변환 실패", e);
+        }
+    }
+}
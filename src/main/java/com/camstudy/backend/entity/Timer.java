@@ -6,7 +6,8 @@ import java.time.LocalDate;
 @Entity
 @Table(
     name = "timer",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"userId", "date"})
+    uniqueConstraints = @UniqueConstraint(name = "uk_timer_user_date", columnNames = {"userId", "date"}),
+    indexes = @Index(name = "idx_timer_date_seconds", columnList = "date, totalSeconds")
 )
 public class Timer {
     @Id
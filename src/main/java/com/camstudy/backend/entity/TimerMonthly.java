@@ -0,0 +1,47 @@
+package com.camstudy.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자 월별 타이머 집계 (월 합계, 요일별 합계, 최고 집중일).
+ * timer 테이블이 바뀔 때 TimerUpsertRepository가 함께 갱신하므로 분석 API는 이 행만 읽습니다.
+ */
+@Entity
+@Table(
+    name = "timer_monthly",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"userId", "statYear", "statMonth"})
+)
+@Getter
+@NoArgsConstructor
+public class TimerMonthly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String userId;
+
+    private int statYear;
+
+    private int statMonth;
+
+    private long totalSeconds;
+
+    // 요일별 합계
+    private long monSeconds;
+    private long tueSeconds;
+    private long wedSeconds;
+    private long thuSeconds;
+    private long friSeconds;
+    private long satSeconds;
+    private long sunSeconds;
+
+    // 가장 오래 집중한 날 (동률이면 먼저 달성한 날)
+    private LocalDate bestDate;
+
+    private long bestSeconds;
+}
@@ -8,7 +8,10 @@ import org.hibernate.annotations.CreationTimestamp; // Hibernate의 CreationTime
 import java.time.Instant; // java.time.Instant 임포트
 
 @Entity
-@Table(name = "todo_items")
+@Table(name = "todo_items", indexes = {
+    @Index(name = "idx_todo_items_window_created", columnList = "window_id, createdAt"),
+    @Index(name = "idx_todo_items_window_rank", columnList = "window_id, sort_rank")
+})
 @Getter // 필드의 getter 메서드 자동 생성
 @Setter // 필드의 setter 메서드 자동 생성
 @NoArgsConstructor // 인자 없는 기본 생성자 자동 생성
@@ -36,6 +39,10 @@ public class TodoItem {
     @Column(nullable = false, updatable = false) // null을 허용하지 않고, 한 번 생성되면 업데이트되지 않도록 설정
     private Instant createdAt;
 
+    // 창 안에서의 수동 정렬 순위 (RankKeys). 옮길 때 이 행만 바뀝니다.
+    @Column(name = "sort_rank", length = 64, columnDefinition = "varchar(64) character set ascii collate ascii_bin")
+    private String sortRank;
+
     // 기존에 수동으로 작성하셨던 getter/setter 메서드는 @Getter, @Setter 어노테이션이 자동으로 생성해주므로,
     // 이 코드에서는 삭제되었습니다.
 }
\ No newline at end of file
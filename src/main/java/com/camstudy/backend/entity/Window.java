@@ -10,7 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "windows")
+@Table(name = "windows", indexes = @Index(name = "idx_windows_user_z", columnList = "user_id, zIndex"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,8 +25,12 @@ public class Window {
     @Enumerated(EnumType.STRING)
     private WindowType type;
 
+    @Convert(converter = StringArrayJsonConverter.class)
+    @Column(columnDefinition = "text")
     private String[] url;
 
+    @Convert(converter = StringArrayJsonConverter.class)
+    @Column(columnDefinition = "text")
     private String[] urlTitles;
 
     private int zIndex;
@@ -0,0 +1,8 @@
+package com.camstudy.backend.repository;
+
+import java.time.LocalDate;
+
+public interface DailyTotalProjection {
+    LocalDate getDate();
+    long getTotalSeconds();
+}
@@ -0,0 +1,25 @@
+package com.camstudy.backend.repository;
+
+import com.camstudy.backend.entity.GoalStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface GoalStreakRepository extends JpaRepository<GoalStreak, Long> {
+    Optional<GoalStreak> findByUserId(String userId);
+
+    // 동시에 처음 생성하려 해도 유니크 키 충돌 없이 한 행만 남도록. @return 새로 만들었으면 1
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO goal_streak (user_id, current_streak, longest_streak) VALUES (:userId, 0, 0)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from GoalStreak g where g.userId = :userId")
+    Optional<GoalStreak> findByUserIdForUpdate(@Param("userId") String userId);
+}
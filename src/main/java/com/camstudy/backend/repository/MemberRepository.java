@@ -22,4 +22,7 @@ public interface MemberRepository extends JpaRepository<Member, String> {
       group by m.room.id
     """)
     List<ActiveCountProjection> countActiveByRoomIds(@Param("roomIds") Collection<String> roomIds);
+
+    @Query("select m.userId from Member m where m.room.id = :roomId and m.active = true")
+    List<String> findActiveUserIdsByRoomId(@Param("roomId") String roomId);
 }
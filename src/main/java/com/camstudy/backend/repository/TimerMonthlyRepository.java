@@ -0,0 +1,10 @@
+package com.camstudy.backend.repository;
+
+import com.camstudy.backend.entity.TimerMonthly;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TimerMonthlyRepository extends JpaRepository<TimerMonthly, Long> {
+    Optional<TimerMonthly> findByUserIdAndStatYearAndStatMonth(String userId, int statYear, int statMonth);
+}
@@ -1,7 +1,10 @@
 package com.camstudy.backend.repository;
 
+import com.camstudy.backend.dto.TimerDayView;
 import com.camstudy.backend.entity.Timer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,4 +13,42 @@ import java.util.Optional;
 public interface TimerRepository extends JpaRepository<Timer, Long> {
     Optional<Timer> findByUserIdAndDate(String userId, LocalDate date);
     List<Timer> findByUserIdAndDateBetween(String userId, LocalDate start, LocalDate end);
-}
\ No newline at end of file
+
+    // 월별 목록용: 엔티티 관리(스냅샷/dirty checking) 없이 DTO로 바로 조회
+    @Query("""
+      select new com.camstudy.backend.dto.TimerDayView(t.id, t.userId, t.date, t.totalSeconds, t.pomoCycles)
+      from Timer t
+      where t.userId = :userId and t.date between :start and :end
+      order by t.date
+    """)
+    List<TimerDayView> findDayViews(@Param("userId") String userId,
+                                    @Param("start") LocalDate start,
+                                    @Param("end") LocalDate end);
+
+    // 히트맵용: 엔티티 대신 (date, totalSeconds)만 조회
+    @Query("""
+      select t.date as date, t.totalSeconds as totalSeconds
+      from Timer t
+      where t.userId = :userId and t.date between :start and :end
+    """)
+    List<DailyTotalProjection> findDailyTotals(@Param("userId") String userId,
+                                               @Param("start") LocalDate start,
+                                               @Param("end") LocalDate end);
+
+    // 리더보드 재구성용: 특정 날짜에 기록이 있는 사용자별 누적 초
+    @Query("""
+      select t.userId as userId, t.totalSeconds as totalSeconds
+      from Timer t
+      where t.date = :date and t.totalSeconds > 0
+    """)
+    List<UserTotalProjection> findUserTotalsByDate(@Param("date") LocalDate date);
+
+    // 연속 달성 재계산용: 목표를 넘긴 날짜 (오름차순)
+    @Query("""
+      select t.date from Timer t
+      where t.userId = :userId and t.totalSeconds >= :goalSeconds
+      order by t.date
+    """)
+    List<LocalDate> findDatesMeetingGoal(@Param("userId") String userId,
+                                         @Param("goalSeconds") long goalSeconds);
+}
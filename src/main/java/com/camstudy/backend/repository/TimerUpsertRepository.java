@@ -0,0 +1,243 @@
+package com.camstudy.backend.repository;
+
+import com.camstudy.backend.dto.MonthlyTimerSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * timer 테이블의 (user_id, date) 유니크 키를 이용한 원자적 upsert.
+ * 조회 후 저장(find → save) 대신 DB에서 바로 누적하므로 동시 요청이 서로의 값을 덮어쓰지 않습니다.
+ * timer가 바뀔 때마다 월별 집계(timer_monthly)도 같은 트랜잭션에서 함께 갱신합니다.
+ * 같은 사용자·달의 갱신은 timer_monthly 행을 먼저 잠가서 하나씩 실행되므로, 다시 집계한 값이 동시에
+ * 반영된 다른 증가분을 덮어쓰지 않습니다. (잠금 순서: timer_monthly 행 → timer 행)
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimerUpsertRepository {
+
+    // 한 달에 이보다 많은 날짜가 한 번에 바뀌면 날짜별 증가 대신 그 달을 다시 집계
+    private static final int MAX_INCREMENTAL_DATES = 3;
+
+    private static final String ADD_SECONDS_SQL = """
+            INSERT INTO timer (user_id, date, total_seconds, pomo_cycles)
+            VALUES (?, ?, ?, 0)
+            ON DUPLICATE KEY UPDATE total_seconds = total_seconds + VALUES(total_seconds)
+            """;
+
+    private static final String SET_POMO_CYCLES_SQL = """
+            INSERT INTO timer (user_id, date, total_seconds, pomo_cycles)
+            VALUES (?, ?, 0, ?)
+            ON DUPLICATE KEY UPDATE pomo_cycles = VALUES(pomo_cycles)
+            """;
+
+    private static final String RESET_DAY_SQL = """
+            UPDATE timer SET total_seconds = 0, pomo_cycles = 0
+            WHERE user_id = ? AND date = ?
+            """;
+
+    private static final String DAY_TOTALS_SQL = """
+            SELECT date, total_seconds FROM timer
+            WHERE user_id = ? AND date BETWEEN ? AND ?
+            """;
+
+    // 다시 집계할 때는 잠금 읽기로 트랜잭션 스냅샷이 아닌 최신 커밋 값을 읽음
+    private static final String LOCKED_DAY_TOTALS_SQL = DAY_TOTALS_SQL + "FOR SHARE\n";
+
+    // 달 집계 행을 배타 잠금 (없으면 best_seconds = -1 인 빈 행을 만들어 잠금, 커밋 전에 반드시 다시 집계됨)
+    // ON DUPLICATE KEY UPDATE는 기존 행에 바로 배타 잠금을 걸어 INSERT IGNORE(공유 잠금 → 승격)의 교착을 피함
+    private static final String LOCK_MONTH_SQL = """
+            INSERT INTO timer_monthly (user_id, stat_year, stat_month, total_seconds,
+                                       mon_seconds, tue_seconds, wed_seconds, thu_seconds,
+                                       fri_seconds, sat_seconds, sun_seconds, best_date, best_seconds)
+            VALUES (?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0, NULL, -1)
+            ON DUPLICATE KEY UPDATE user_id = user_id
+            """;
+
+    private static final String MONTH_BEST_SECONDS_SQL = """
+            SELECT best_seconds FROM timer_monthly
+            WHERE user_id = ? AND stat_year = ? AND stat_month = ?
+            FOR UPDATE
+            """;
+
+    // best_date는 best_seconds보다 먼저 계산되어야 함 (MySQL은 SET 절을 왼쪽부터 평가)
+    private static final String INCREMENT_MONTH_SQL = """
+            UPDATE timer_monthly
+            SET total_seconds = total_seconds + ?,
+                mon_seconds = mon_seconds + ?,
+                tue_seconds = tue_seconds + ?,
+                wed_seconds = wed_seconds + ?,
+                thu_seconds = thu_seconds + ?,
+                fri_seconds = fri_seconds + ?,
+                sat_seconds = sat_seconds + ?,
+                sun_seconds = sun_seconds + ?,
+                best_date = IF(? > best_seconds, ?, best_date),
+                best_seconds = GREATEST(best_seconds, ?)
+            WHERE user_id = ? AND stat_year = ? AND stat_month = ?
+            """;
+
+    private static final String UPSERT_MONTH_SQL = """
+            INSERT INTO timer_monthly (user_id, stat_year, stat_month, total_seconds,
+                                       mon_seconds, tue_seconds, wed_seconds, thu_seconds,
+                                       fri_seconds, sat_seconds, sun_seconds, best_date, best_seconds)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE total_seconds = VALUES(total_seconds),
+                                    mon_seconds = VALUES(mon_seconds),
+                                    tue_seconds = VALUES(tue_seconds),
+                                    wed_seconds = VALUES(wed_seconds),
+                                    thu_seconds = VALUES(thu_seconds),
+                                    fri_seconds = VALUES(fri_seconds),
+                                    sat_seconds = VALUES(sat_seconds),
+                                    sun_seconds = VALUES(sun_seconds),
+                                    best_date = VALUES(best_date),
+                                    best_seconds = VALUES(best_seconds)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 날짜별 증가분을 한 번의 배치로 누적합니다 (행이 없으면 생성).
+     * 여러 요청이 같은 행들을 같은 순서로 잠그도록 날짜 순으로 정렬된 맵을 넘겨주세요.
+     * @return 반영 후 각 날짜의 누적 초
+     */
+    public Map<LocalDate, Long> addSeconds(String userId, Map<LocalDate, Long> secondsByDate) {
+        if (secondsByDate.isEmpty()) {
+            return Map.of();
+        }
+        Set<YearMonth> newMonths = lockMonths(userId, secondsByDate.keySet());
+
+        List<Object[]> batchArgs = secondsByDate.entrySet().stream()
+                .map(e -> new Object[]{userId, e.getKey(), e.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(ADD_SECONDS_SQL, batchArgs);
+
+        Map<LocalDate, Long> dayTotals = loadDayTotals(userId, secondsByDate.keySet());
+        updateMonthlyRollup(userId, secondsByDate, dayTotals, newMonths);
+        return dayTotals;
+    }
+
+    public void setPomoCycles(String userId, LocalDate date, int cycles) {
+        jdbcTemplate.update(SET_POMO_CYCLES_SQL, userId, date, cycles);
+    }
+
+    /** 해당 날짜 기록을 0으로 되돌리고 그 달의 집계를 다시 계산 (행이 없으면 아무것도 하지 않음) */
+    public void resetDay(String userId, LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        boolean newMonth = lockMonth(userId, month);
+        if (jdbcTemplate.update(RESET_DAY_SQL, userId, date) > 0 || newMonth) {
+            rebuildMonth(userId, month);
+        }
+    }
+
+    /** timer 테이블에서 한 달치를 다시 집계해 timer_monthly에 덮어씁니다. (트랜잭션 안에서 호출) */
+    public MonthlyTimerSummary rebuildMonth(String userId, YearMonth month) {
+        lockMonth(userId, month); // 이미 잠근 경우 바로 통과
+        MonthlyTimerSummary summary = MonthlyTimerSummary.fromDailyTotals(
+                queryDayTotals(LOCKED_DAY_TOTALS_SQL, userId, month.atDay(1), month.atEndOfMonth()));
+        Map<DayOfWeek, Long> weekdays = summary.weekdaySeconds();
+        jdbcTemplate.update(UPSERT_MONTH_SQL,
+                userId, month.getYear(), month.getMonthValue(), summary.totalSeconds(),
+                weekdays.getOrDefault(DayOfWeek.MONDAY, 0L),
+                weekdays.getOrDefault(DayOfWeek.TUESDAY, 0L),
+                weekdays.getOrDefault(DayOfWeek.WEDNESDAY, 0L),
+                weekdays.getOrDefault(DayOfWeek.THURSDAY, 0L),
+                weekdays.getOrDefault(DayOfWeek.FRIDAY, 0L),
+                weekdays.getOrDefault(DayOfWeek.SATURDAY, 0L),
+                weekdays.getOrDefault(DayOfWeek.SUNDAY, 0L),
+                new SqlParameterValue(Types.DATE, summary.bestDate()),
+                summary.bestSeconds());
+        return summary;
+    }
+
+    // 바뀌는 달들의 집계 행을 달 순서대로 잠금. @return 이번에 새로 만든(다시 집계해야 하는) 달
+    private Set<YearMonth> lockMonths(String userId, Set<LocalDate> dates) {
+        Set<YearMonth> months = new TreeSet<>();
+        dates.forEach(date -> months.add(YearMonth.from(date)));
+        Set<YearMonth> newMonths = new HashSet<>();
+        for (YearMonth month : months) {
+            if (lockMonth(userId, month)) {
+                newMonths.add(month);
+            }
+        }
+        return newMonths;
+    }
+
+    /** @return 집계 행이 아직 한 번도 집계되지 않은 빈 행이면 true */
+    private boolean lockMonth(String userId, YearMonth month) {
+        jdbcTemplate.update(LOCK_MONTH_SQL, userId, month.getYear(), month.getMonthValue());
+        Long bestSeconds = jdbcTemplate.queryForObject(MONTH_BEST_SECONDS_SQL, Long.class,
+                userId, month.getYear(), month.getMonthValue());
+        return bestSeconds == null || bestSeconds < 0;
+    }
+
+    private void updateMonthlyRollup(String userId,
+                                     Map<LocalDate, Long> increments,
+                                     Map<LocalDate, Long> dayTotals,
+                                     Set<YearMonth> newMonths) {
+        Map<YearMonth, List<LocalDate>> datesByMonth = new TreeMap<>();
+        increments.keySet().forEach(date ->
+                datesByMonth.computeIfAbsent(YearMonth.from(date), m -> new ArrayList<>()).add(date));
+
+        datesByMonth.forEach((month, dates) -> {
+            boolean incremented = !newMonths.contains(month)
+                    && dates.size() <= MAX_INCREMENTAL_DATES
+                    && incrementMonth(userId, month, dates, increments, dayTotals);
+            if (!incremented) {
+                // 이 달의 집계 행이 방금 만들어졌거나(처음 기록 / 집계 도입 이전 기록) 바뀐 날이 많은 경우
+                rebuildMonth(userId, month);
+            }
+        });
+    }
+
+    private boolean incrementMonth(String userId,
+                                   YearMonth month,
+                                   List<LocalDate> dates,
+                                   Map<LocalDate, Long> increments,
+                                   Map<LocalDate, Long> dayTotals) {
+        for (LocalDate date : dates) {
+            long secs = increments.get(date);
+            long dayTotal = dayTotals.getOrDefault(date, secs);
+            DayOfWeek dow = date.getDayOfWeek();
+            int updated = jdbcTemplate.update(INCREMENT_MONTH_SQL,
+                    secs,
+                    dow == DayOfWeek.MONDAY ? secs : 0L,
+                    dow == DayOfWeek.TUESDAY ? secs : 0L,
+                    dow == DayOfWeek.WEDNESDAY ? secs : 0L,
+                    dow == DayOfWeek.THURSDAY ? secs : 0L,
+                    dow == DayOfWeek.FRIDAY ? secs : 0L,
+                    dow == DayOfWeek.SATURDAY ? secs : 0L,
+                    dow == DayOfWeek.SUNDAY ? secs : 0L,
+                    dayTotal, date, dayTotal,
+                    userId, month.getYear(), month.getMonthValue());
+            if (updated == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<LocalDate, Long> loadDayTotals(String userId, Set<LocalDate> dates) {
+        LocalDate from = Collections.min(dates);
+        LocalDate to = Collections.max(dates);
+        Map<LocalDate, Long> totals = queryDayTotals(DAY_TOTALS_SQL, userId, from, to);
+        totals.keySet().retainAll(dates);
+        return totals;
+    }
+
+    private Map<LocalDate, Long> queryDayTotals(String sql, String userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> totals = new TreeMap<>();
+        jdbcTemplate.query(sql,
+                rs -> {
+                    totals.put(rs.getObject("date", LocalDate.class), rs.getLong("total_seconds"));
+                },
+                userId, from, to);
+        return totals;
+    }
+}
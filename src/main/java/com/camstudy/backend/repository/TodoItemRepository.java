@@ -3,10 +3,13 @@ package com.camstudy.backend.repository;
 import com.camstudy.backend.entity.TodoItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // 이 임포트 추가
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TodoItemRepository extends JpaRepository<TodoItem, Long>, JpaSpecificationExecutor<TodoItem> { // JpaSpecificationExecutor 추가
     
@@ -21,4 +24,45 @@ public interface TodoItemRepository extends JpaRepository<TodoItem, Long>, JpaSp
     // 이는 @Query 어노테이션을 직접 사용하는 것보다 간결하며, JPA의 쿼리 메서드 규칙을 따릅니다.
     // Window 엔티티 내에 'userId' 필드가 직접 있다면 이렇게 사용할 수 있습니다.
     List<TodoItem> findAllByWindow_UserId(String userEmail);
-}
\ No newline at end of file
+
+    // 새 투두를 창 맨 뒤에 두기 위한 현재 마지막 순위 (window_id, sort_rank 인덱스)
+    @Query("select max(t.sortRank) from TodoItem t where t.window.id = :windowId")
+    String findMaxSortRank(@Param("windowId") Long windowId);
+
+    // 이웃 항목 순위 (같은 창인 경우만, 영속성 컨텍스트가 아닌 DB 값, 순위가 없으면 "")
+    @Query("select coalesce(t.sortRank, '') from TodoItem t where t.id = :id and t.window.id = :windowId")
+    Optional<String> findSortRank(@Param("id") Long id, @Param("windowId") Long windowId);
+
+    // 검색 인덱스 구성용: 사용자의 모든 투두 (id, text)만
+    @Query("select t.id as id, t.text as text from TodoItem t where t.window.userId = :userId")
+    List<TodoTextProjection> findTextsByUserId(@Param("userId") String userId);
+
+    // --- 일괄 처리 (소유권 조건을 windows 조인으로 한 문장에 포함) ---
+
+    // 요청 id 중 사용자 소유인 것만 잠그고 반환 (이어지는 UPDATE/DELETE와 같은 집합)
+    @Query(value = """
+      SELECT t.id FROM todo_items t JOIN windows w ON w.id = t.window_id
+      WHERE t.id IN (:ids) AND w.user_id = :userId
+      FOR UPDATE
+    """, nativeQuery = true)
+    List<Long> lockOwnedIds(@Param("ids") Collection<Long> ids, @Param("userId") String userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+      UPDATE todo_items t JOIN windows w ON w.id = t.window_id
+      SET t.done = COALESCE(:done, t.done),
+          t.text = COALESCE(:text, t.text)
+      WHERE t.id IN (:ids) AND w.user_id = :userId
+    """, nativeQuery = true)
+    int bulkUpdate(@Param("ids") Collection<Long> ids,
+                   @Param("userId") String userId,
+                   @Param("done") Boolean done,
+                   @Param("text") String text);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+      DELETE t FROM todo_items t JOIN windows w ON w.id = t.window_id
+      WHERE t.id IN (:ids) AND w.user_id = :userId
+    """, nativeQuery = true)
+    int bulkDelete(@Param("ids") Collection<Long> ids, @Param("userId") String userId);
+}
@@ -0,0 +1,6 @@
+package com.camstudy.backend.repository;
+
+public interface TodoTextProjection {
+    Long getId();
+    String getText();
+}
@@ -0,0 +1,6 @@
+package com.camstudy.backend.repository;
+
+public interface UserTotalProjection {
+    String getUserId();
+    long getTotalSeconds();
+}
@@ -0,0 +1,127 @@
+package com.camstudy.backend.repository;
+
+import com.camstudy.backend.dto.WindowLayoutDelta;
+import com.camstudy.backend.dto.WindowLayoutItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 창 배치(z-index 등) 전용 JDBC 쿼리. 엔티티를 읽지 않고 필요한 컬럼만 한 문장으로 바꿉니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WindowLayoutRepository {
+
+    // 다른 창들의 최대값 + 1로 올림. 이미 맨 위면(다른 창이 없거나 모두 더 낮으면) 아무것도 바꾸지 않음
+    // (파생 테이블은 집계라 먼저 구체화되므로 같은 테이블을 갱신할 수 있음)
+    private static final String FOCUS_SQL = """
+            UPDATE windows w
+            JOIN (SELECT MAX(z_index) AS max_z FROM windows WHERE user_id = ? AND id <> ?) others
+            SET w.z_index = others.max_z + 1
+            WHERE w.id = ? AND w.user_id = ? AND w.z_index <= others.max_z
+            """;
+
+    private static final String OWNER_AND_Z_SQL = "SELECT user_id, z_index FROM windows WHERE id = ?";
+
+    private static final String USERS_WITH_HIGH_Z_SQL = """
+            SELECT user_id FROM windows
+            GROUP BY user_id
+            HAVING MAX(z_index) > ?
+            """;
+
+    private static final String LOCK_USER_WINDOWS_SQL = """
+            SELECT id FROM windows WHERE user_id = ?
+            ORDER BY z_index, id
+            FOR UPDATE
+            """;
+
+    private static final String SET_Z_SQL = "UPDATE windows SET z_index = ? WHERE id = ?";
+
+    // 소유자 확인을 WHERE 절에 포함 (다른 사용자의 창 id면 0건)
+    private static final String UPDATE_GEOMETRY_SQL = """
+            UPDATE windows
+            SET x = COALESCE(?, x), y = COALESCE(?, y),
+                width = COALESCE(?, width), height = COALESCE(?, height)
+            WHERE id = ? AND user_id = ?
+            """;
+
+    // 소유 확인과 동시에 행을 잠가, 확인 후 반영 전에 창이 지워지거나 넘어가지 않도록 함
+    private static final String LOCK_OWNED_COUNT_SQL = """
+            SELECT COUNT(*) FROM windows
+            WHERE user_id = :userId AND id IN (:ids)
+            FOR UPDATE
+            """;
+
+    private static final String UPDATE_LAYOUT_SQL = """
+            UPDATE windows
+            SET x = COALESCE(?, x), y = COALESCE(?, y),
+                width = COALESCE(?, width), height = COALESCE(?, height),
+                z_index = COALESCE(?, z_index), type = COALESCE(?, type)
+            WHERE id = ? AND user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** @return 바뀌었으면 true (false면 이미 맨 위이거나, 없는 창/다른 사용자의 창) */
+    public boolean focus(Long windowId, String userId) {
+        return jdbcTemplate.update(FOCUS_SQL, userId, windowId, windowId, userId) > 0;
+    }
+
+    /** (user_id, z_index) 한 행. 없으면 null */
+    public Map<String, Object> findOwnerAndZIndex(Long windowId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(OWNER_AND_Z_SQL, windowId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public List<String> findUsersWithZIndexAbove(int threshold) {
+        return jdbcTemplate.queryForList(USERS_WITH_HIGH_Z_SQL, String.class, threshold);
+    }
+
+    /** 사용자의 창 z-index를 현재 순서 그대로 1..n으로 다시 매김 (호출한 쪽 트랜잭션 안에서 실행) */
+    public int compactZIndexes(String userId) {
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_USER_WINDOWS_SQL, Long.class, userId);
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batchArgs.add(new Object[]{i + 1, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate(SET_Z_SQL, batchArgs);
+        return ids.size();
+    }
+
+    /** 한 사용자의 창 위치·크기 변경을 한 번의 배치로 반영. @return 실제로 바뀐 행이 있으면 true */
+    public boolean updateGeometry(String userId, List<WindowLayoutDelta> deltas) {
+        List<Object[]> batchArgs = deltas.stream()
+                .map(d -> new Object[]{d.x(), d.y(), d.width(), d.height(), d.id(), userId})
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_GEOMETRY_SQL, batchArgs);
+        for (int count : counts) {
+            if (count != 0) { // 드라이버에 따라 SUCCESS_NO_INFO(-2)
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** ids 중 이 사용자 소유인 창 수 (해당 행들을 잠금, 트랜잭션 안에서 호출) */
+    public int lockOwnedCount(String userId, Collection<Long> ids) {
+        Integer count = new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject(LOCK_OWNED_COUNT_SQL,
+                Map.of("userId", userId, "ids", ids), Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    /** 창 배치 전체를 한 번의 배치로 반영 */
+    public void updateLayout(String userId, List<WindowLayoutItem> items) {
+        List<Object[]> batchArgs = items.stream()
+                .map(i -> new Object[]{i.x(), i.y(), i.width(), i.height(), i.zIndex(),
+                        i.type() == null ? null : i.type().name(), i.id(), userId})
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_LAYOUT_SQL, batchArgs);
+    }
+}
@@ -4,31 +4,40 @@ import com.camstudy.backend.dto.LoginResponse;
 import com.camstudy.backend.entity.User;
 import com.camstudy.backend.repository.UserRepository;
 import com.camstudy.backend.util.JwtUtil;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.http.ResponseCookie;
 import jakarta.servlet.http.HttpServletResponse;
 
+@Slf4j
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final PasswordHashingExecutor hashingExecutor;
+    private final PasswordEncoder encoder; // PasswordConfig의 보정된 DelegatingPasswordEncoder
 
-    public AuthService(UserRepository userRepository, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, JwtUtil jwtUtil,
+                       PasswordHashingExecutor hashingExecutor, PasswordEncoder encoder) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
+        this.hashingExecutor = hashingExecutor;
+        this.encoder = encoder;
     }
 
     public LoginResponse login(String email, String password, HttpServletResponse response) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("존재하지 않는 사용자"));
 
-        if (!encoder.matches(password, user.getPassword())) {
+        // BCrypt 검증은 요청 스레드가 아닌 전용 해시 풀에서 수행
+        if (!hashingExecutor.submit(() -> encoder.matches(password, user.getPassword()))) {
             throw new RuntimeException("비밀번호 불일치");
         }
 
+        rehashIfOutdated(user, password);
+
         // 액세스 토큰과 리프레시 토큰 생성
         String accessToken = jwtUtil.createToken(user.getEmail());
         String refreshToken = jwtUtil.createRefreshToken(user.getEmail());
@@ -59,11 +68,27 @@ public class AuthService {
         return new LoginResponse(user.getId(), user.getUsername());
     }
 
+    // 저장된 해시가 예전 형식/파라미터면 방금 검증된 평문으로 다시 해시해 둠 (실패해도 로그인은 진행, 다음 로그인 때 재시도)
+    private void rehashIfOutdated(User user, String password) {
+        if (!encoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(hashingExecutor.submit(() -> encoder.encode(password)));
+            userRepository.save(user);
+        } catch (RuntimeException e) {
+            // 해시 풀이 포화 상태면 조용히 다음 로그인으로 미룸, 그 밖의 실패(저장 오류 등)는 기록
+            if (!PasswordHashingExecutor.BUSY_MESSAGE.equals(e.getMessage())) {
+                log.warn("Password rehash failed for user {}", user.getId(), e);
+            }
+        }
+    }
+
     public String signup(String email, String password, String username) {
         if (userRepository.findByEmail(email).isPresent()) {
             throw new RuntimeException("이미 존재하는 이메일입니다.");
         }
-        String hash = encoder.encode(password);
+        String hash = hashingExecutor.submit(() -> encoder.encode(password));
         userRepository.save(User.builder()
                 .email(email)
                 .password(hash)
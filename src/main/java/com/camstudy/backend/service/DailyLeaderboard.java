@@ -0,0 +1,93 @@
+package com.camstudy.backend.service;
+
+import java.util.*;
+
+/**
+ * 하루치 집중 시간 순위 (메모리).
+ *
+ * 정렬은 TreeSet(초 내림차순, userId), 순위 계산은 초 단위 펜윅 트리로 합니다.
+ * 하루 기록은 최대 25시간(서머타임 전환일)이므로 트리 크기가 사용자 수와 무관하게 고정되고,
+ * 갱신/상위 N개/내 순위 모두 O(log n)입니다. 같은 초는 같은 순위입니다.
+ */
+class DailyLeaderboard {
+
+    static final int MAX_SECONDS = 25 * 3600;
+
+    private final Map<String, Long> secondsByUser = new HashMap<>();
+    private final TreeSet<Entry> ordered = new TreeSet<>(
+            Comparator.comparingLong(Entry::seconds).reversed().thenComparing(Entry::userId));
+    // fenwick[i] = 초가 (i-1)인 사용자 수의 부분합
+    private final int[] fenwick = new int[MAX_SECONDS + 2];
+
+    /** 지금 값보다 클 때만 설정 (늦게 도착한 예전 누적값이 최신 값을 덮어쓰지 않도록) */
+    synchronized void raise(String userId, long seconds) {
+        if (seconds > secondsByUser.getOrDefault(userId, 0L)) {
+            set(userId, seconds);
+        }
+    }
+
+    /** 사용자의 그날 누적 초를 설정 (0 이하면 순위에서 제거) */
+    synchronized void set(String userId, long seconds) {
+        Long previous = secondsByUser.remove(userId);
+        if (previous != null) {
+            ordered.remove(new Entry(userId, previous));
+            add(bucket(previous), -1);
+        }
+        if (seconds > 0) {
+            secondsByUser.put(userId, seconds);
+            ordered.add(new Entry(userId, seconds));
+            add(bucket(seconds), 1);
+        }
+    }
+
+    synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, ordered.size()));
+        for (Entry entry : ordered) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    synchronized long secondsOf(String userId) {
+        return secondsByUser.getOrDefault(userId, 0L);
+    }
+
+    /** 1부터 시작하는 순위 (기록이 없으면 null) */
+    synchronized Integer rankOf(String userId) {
+        Long seconds = secondsByUser.get(userId);
+        return seconds == null ? null : countAbove(seconds) + 1;
+    }
+
+    synchronized int size() {
+        return secondsByUser.size();
+    }
+
+    // seconds보다 많이 한 사용자 수
+    private int countAbove(long seconds) {
+        return prefix(MAX_SECONDS + 1) - prefix(bucket(seconds) + 1);
+    }
+
+    private static int bucket(long seconds) {
+        return (int) Math.min(seconds, MAX_SECONDS);
+    }
+
+    private void add(int bucket, int delta) {
+        for (int i = bucket + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    // 초가 [0, bucket) 인 사용자 수
+    private int prefix(int bucket) {
+        int sum = 0;
+        for (int i = bucket; i > 0; i -= i & -i) {
+            sum += fenwick[i];
+        }
+        return sum;
+    }
+
+    record Entry(String userId, long seconds) {}
+}
@@ -0,0 +1,110 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.entity.GoalStreak;
+import com.camstudy.backend.repository.GoalStreakRepository;
+import com.camstudy.backend.repository.TimerRepository;
+import com.camstudy.backend.service.UserProfileCache.UserProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 일일 목표 연속 달성(streak) 관리.
+ *
+ * 기록 시에는 "이번 증가분으로 처음 목표를 넘긴 날"만 보고 streak 행을 O(1)로 갱신합니다.
+ * 초기화, 목표 변경, 이미 지난 날짜를 뒤늦게 채운 경우처럼 과거 결과가 바뀔 수 있을 때만 이력에서 다시 계산합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GoalStreakService {
+
+    private final GoalStreakRepository streakRepository;
+    private final TimerRepository timerRepository;
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * upsert 직후 호출 (같은 트랜잭션).
+     * @param increments 이번에 더한 날짜별 초
+     * @param dayTotals  반영 후 날짜별 누적 초
+     */
+    public void onRecorded(String userId, Map<LocalDate, Long> increments, Map<LocalDate, Long> dayTotals) {
+        Optional<UserProfile> profile = userProfileCache.find(userId);
+        if (profile.isEmpty()) {
+            return; // 탈퇴한 사용자: streak 때문에 기록 반영(write-behind flush 포함) 전체가 실패하지 않도록 건너뜀
+        }
+        long goalSeconds = goalSeconds(profile.get().dailyGoalHours());
+        List<LocalDate> newlyMet = new ArrayList<>();
+        dayTotals.forEach((date, total) -> {
+            long before = total - increments.getOrDefault(date, 0L);
+            if (before < goalSeconds && total >= goalSeconds) {
+                newlyMet.add(date);
+            }
+        });
+        if (newlyMet.isEmpty()) {
+            return; // 대부분의 기록은 여기서 끝남
+        }
+
+        if (streakRepository.insertIfAbsent(userId) > 0) {
+            // streak 도입 이전부터 기록이 있던 사용자의 첫 행: 이번 날짜만이 아니라 이력 전체로 계산
+            recompute(lockStreak(userId), goalSeconds);
+            return;
+        }
+        GoalStreak streak = lockStreak(userId);
+        for (LocalDate date : newlyMet.stream().sorted().toList()) {
+            LocalDate last = streak.getLastMetDate();
+            if (last == null || date.isAfter(last.plusDays(1))) {
+                streak.setCurrentStreak(1);
+            } else if (date.equals(last.plusDays(1))) {
+                streak.setCurrentStreak(streak.getCurrentStreak() + 1);
+            } else {
+                // 마지막 달성일 이전 날짜가 새로 달성됨 (오프라인 일괄 기록 등): 연속 구간이 이어질 수 있어 재계산
+                recompute(streak, goalSeconds);
+                return;
+            }
+            streak.setLastMetDate(date);
+            streak.setLongestStreak(Math.max(streak.getLongestStreak(), streak.getCurrentStreak()));
+        }
+    }
+
+    /** 날짜 초기화 / 목표 변경처럼 과거 달성 여부가 바뀔 수 있을 때 이력에서 다시 계산 */
+    public void recompute(String userId, int dailyGoalHours) {
+        recompute(lockStreak(userId), goalSeconds(dailyGoalHours));
+    }
+
+    @Transactional(readOnly = true)
+    public GoalStreak find(String userId) {
+        return streakRepository.findByUserId(userId).orElse(null);
+    }
+
+    private void recompute(GoalStreak streak, long goalSeconds) {
+        int current = 0;
+        int longest = 0;
+        LocalDate last = null;
+        for (LocalDate date : timerRepository.findDatesMeetingGoal(streak.getUserId(), goalSeconds)) {
+            current = (last != null && date.equals(last.plusDays(1))) ? current + 1 : 1;
+            longest = Math.max(longest, current);
+            last = date;
+        }
+        streak.setCurrentStreak(current);
+        streak.setLongestStreak(longest);
+        streak.setLastMetDate(last);
+    }
+
+    private GoalStreak lockStreak(String userId) {
+        streakRepository.insertIfAbsent(userId); // 행이 없을 때만 (이후 바로 다시 계산되거나 이미 있는 행)
+        return streakRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("goal_streak row missing"));
+    }
+
+    // 목표 0시간이면 기록이 있는 날(1초 이상)을 달성으로 봄
+    private static long goalSeconds(int dailyGoalHours) {
+        return Math.max(1L, dailyGoalHours * 3600L);
+    }
+}
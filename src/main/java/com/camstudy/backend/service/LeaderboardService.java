@@ -0,0 +1,234 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.dto.LeaderboardResponse;
+import com.camstudy.backend.repository.MemberRepository;
+import com.camstudy.backend.repository.RoomRepository;
+import com.camstudy.backend.repository.TimerRepository;
+import com.camstudy.backend.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 날짜별 집중 시간 리더보드. timer 테이블을 ORDER BY 하지 않고 메모리의 DailyLeaderboard에서 응답합니다.
+ *
+ * 날짜별 보드는 처음 조회될 때(그리고 시작 시 "오늘"에 해당하는 날짜들은 미리) DB에서 만들어지고,
+ * 이후에는 기록이 커밋될 때마다 upsert 결과로 받은 그날 누적 초로 갱신됩니다.
+ * 값은 증가분이 아닌 누적값이고 기존 값보다 클 때만 반영하므로, 같은 갱신이 두 번 오거나
+ * 커밋 후 콜백 순서가 뒤바뀌어도 결과가 같습니다.
+ *
+ * 값이 줄어드는 하루 초기화는 (사용자, 날짜)별 초기화 순번으로 구분합니다. 기록 트랜잭션은 upsert 직후
+ * (행 잠금을 잡은 상태에서) 현재 순번을 기억하고, 초기화 트랜잭션은 초기화 UPDATE 직후 순번을 올립니다.
+ * 두 트랜잭션은 같은 행 잠금으로 순서가 정해지므로, 기억한 순번이 마지막 초기화보다 작은 갱신은
+ * 초기화 이전 누적값이라 버리고, 초기화 이후 첫 갱신은 (초기화 콜백보다 먼저 오더라도) 덮어씁니다.
+ * (초기화 트랜잭션이 롤백되면 그 전에 시작된 갱신 몇 개가 버려질 수 있고, 다음 기록이나 ttl 재생성 때 바로잡힙니다.)
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    public static final String NOT_ROOM_MEMBER_MESSAGE = "방 멤버만 리더보드를 볼 수 있습니다.";
+
+    private final TimerRepository timerRepository;
+    private final MemberRepository memberRepository;
+    private final RoomRepository roomRepository;
+    private final UserProfileCache userProfileCache;
+    private final LoadingCache<LocalDate, DailyLeaderboard> boards;
+    private final AtomicLong resetSequence = new AtomicLong();
+    // 최근 초기화 (커밋 후 콜백은 커밋 직후 실행되므로 잠깐만 기억하면 충분)
+    private final Cache<ResetKey, ResetMark> resets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    public LeaderboardService(TimerRepository timerRepository,
+                              MemberRepository memberRepository,
+                              RoomRepository roomRepository,
+                              UserProfileCache userProfileCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${timer.leaderboard.max-days:7}") long maxDays,
+                              @Value("${timer.leaderboard.ttl-minutes:60}") long ttlMinutes) {
+        this.timerRepository = timerRepository;
+        this.memberRepository = memberRepository;
+        this.roomRepository = roomRepository;
+        this.userProfileCache = userProfileCache;
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                // 만든 지 ttl이 지나면 DB에서 다시 만들어 어긋남을 바로잡음 (갱신이 있어도 만료 시각은 그대로)
+                .expireAfter(expireAfterCreate(Duration.ofMinutes(ttlMinutes)))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "timer.leaderboard");
+    }
+
+    /** 지금 어느 타임존에서든 "오늘"인 날짜들의 보드를 미리 만들어 둠 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDate from = LocalDate.now(ZoneOffset.MIN);
+        LocalDate to = LocalDate.now(ZoneOffset.MAX);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            boards.get(date);
+        }
+    }
+
+    /** 기록 트랜잭션에서 upsert 직후 호출: 지금의 초기화 순번을 기억했다가 커밋 후 반영 */
+    public void updateAfterCommit(String userId, Map<LocalDate, Long> dayTotals) {
+        Map<LocalDate, Long> copy = Map.copyOf(dayTotals);
+        long seenReset = resetSequence.get();
+        TransactionUtil.afterCommit(() -> update(userId, copy, seenReset));
+    }
+
+    /**
+     * 날짜별 누적 초 반영 (이미 메모리에 있거나 만들어지는 중인 보드만; 없으면 다음 조회 때 DB에서 만들어짐).
+     * computeIfPresent는 같은 날짜의 로딩이 끝날 때까지 기다리므로, 커밋 전 DB를 읽은 로딩 결과에도 반영됨.
+     */
+    private void update(String userId, Map<LocalDate, Long> dayTotals, long seenReset) {
+        dayTotals.forEach((date, seconds) -> boards.asMap().computeIfPresent(date, (d, board) -> {
+            ResetMark reset = resets.getIfPresent(new ResetKey(userId, date));
+            if (reset == null || reset.applied) {
+                board.raise(userId, seconds);
+            } else if (reset.sequence <= seenReset) {
+                // 초기화 뒤에 쌓인 값인데 초기화 콜백이 아직 안 옴: 예전 누적값보다 작을 수 있으니 덮어씀
+                board.set(userId, seconds);
+                reset.applied = true;
+            }
+            // 그 밖(reset.sequence > seenReset)은 초기화 이전 누적값이므로 버림
+            return board;
+        }));
+    }
+
+    /** 초기화 트랜잭션에서 초기화 UPDATE 직후 호출: 값을 낮춰야 하므로 raise가 아닌 덮어쓰기 (커밋 후 반영) */
+    public void resetAfterCommit(String userId, LocalDate date) {
+        ResetMark mark = new ResetMark(resetSequence.incrementAndGet());
+        resets.put(new ResetKey(userId, date), mark);
+        TransactionUtil.afterCommit(() -> boards.asMap().computeIfPresent(date, (d, board) -> {
+            if (!mark.applied) { // 초기화 이후 갱신이 먼저 덮어썼으면 그대로 둠
+                board.set(userId, 0);
+                mark.applied = true;
+            }
+            return board;
+        }));
+    }
+
+    public LeaderboardResponse global(LocalDate date, int limit, String me) {
+        DailyLeaderboard board = boards.get(date);
+        List<LeaderboardResponse.Entry> top = new ArrayList<>();
+        for (DailyLeaderboard.Entry entry : board.top(limit)) {
+            top.add(new LeaderboardResponse.Entry(board.rankOf(entry.userId()),
+                    usernameOf(entry.userId()), entry.seconds()));
+        }
+        LeaderboardResponse.Entry mine = new LeaderboardResponse.Entry(
+                board.rankOf(me), usernameOf(me), board.secondsOf(me));
+        return new LeaderboardResponse(date.toString(), board.size(), top, mine);
+    }
+
+    /** 방 리더보드: 방의 활성 멤버만 (방 인원은 적으므로 전체 보드에서 골라 정렬). 비공개 방은 멤버만 조회 가능 */
+    public LeaderboardResponse room(String roomId, LocalDate date, int limit, String me) {
+        List<String> memberIds = memberRepository.findActiveUserIdsByRoomId(roomId);
+        if (!memberIds.contains(me) && !isPublicRoom(roomId)) {
+            throw new RuntimeException(NOT_ROOM_MEMBER_MESSAGE);
+        }
+
+        DailyLeaderboard board = boards.get(date);
+        List<DailyLeaderboard.Entry> members = new ArrayList<>();
+        for (String userId : memberIds) {
+            members.add(new DailyLeaderboard.Entry(userId, board.secondsOf(userId)));
+        }
+        members.sort(Comparator.comparingLong(DailyLeaderboard.Entry::seconds).reversed()
+                .thenComparing(DailyLeaderboard.Entry::userId));
+
+        List<LeaderboardResponse.Entry> top = new ArrayList<>();
+        LeaderboardResponse.Entry mine = null;
+        int rank = 0;
+        long previousSeconds = -1;
+        for (int i = 0; i < members.size(); i++) {
+            DailyLeaderboard.Entry entry = members.get(i);
+            if (entry.seconds() != previousSeconds) {
+                rank = i + 1;
+                previousSeconds = entry.seconds();
+            }
+            LeaderboardResponse.Entry row = new LeaderboardResponse.Entry(
+                    rank, usernameOf(entry.userId()), entry.seconds());
+            if (i < limit) {
+                top.add(row);
+            }
+            if (entry.userId().equals(me)) {
+                mine = row;
+            }
+        }
+        if (mine == null) {
+            mine = new LeaderboardResponse.Entry(null, usernameOf(me), board.secondsOf(me));
+        }
+        return new LeaderboardResponse(date.toString(), members.size(), top, mine);
+    }
+
+    // 없는 방은 비공개로 취급 (방 id 존재 여부를 드러내지 않도록)
+    private boolean isPublicRoom(String roomId) {
+        return roomRepository.findById(roomId)
+                .map(room -> !Boolean.TRUE.equals(room.getIsPrivate()))
+                .orElse(false);
+    }
+
+    private static Expiry<LocalDate, DailyLeaderboard> expireAfterCreate(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(LocalDate date, DailyLeaderboard board, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(LocalDate date, DailyLeaderboard board, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(LocalDate date, DailyLeaderboard board, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private DailyLeaderboard load(LocalDate date) {
+        DailyLeaderboard board = new DailyLeaderboard();
+        timerRepository.findUserTotalsByDate(date)
+                .forEach(row -> board.set(row.getUserId(), row.getTotalSeconds()));
+        log.debug("Leaderboard for {} loaded with {} users", date, board.size());
+        return board;
+    }
+
+    private record ResetKey(String userId, LocalDate date) {}
+
+    // applied는 해당 날짜 보드의 computeIfPresent 안에서만 읽고 씀 (같은 키끼리 직렬화됨)
+    private static final class ResetMark {
+        final long sequence;
+        boolean applied;
+
+        ResetMark(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    // 이메일 대신 username 노출 (탈퇴 등으로 없으면 빈 이름)
+    private String usernameOf(String userId) {
+        try {
+            return userProfileCache.get(userId).username();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.dto.LiveTimerStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket으로 시작된 실행 중 타이머 세션 (사용자당 하나).
+ *
+ * 세션이 끝날 때 한 번에 기록하는 대신 timer.live.checkpoint-interval-ms 마다 지난 체크포인트 이후 구간을
+ * TimerService.record로 반영하므로, 탭이 죽어도 최대 한 주기 분량만 잃습니다.
+ * 어떤 경우에도 마지막 하트비트 + timer.live.heartbeat-interval-seconds 이후 시간은 기록하지 않으며,
+ * 하트비트가 timer.live.stale-timeout-seconds 동안 없으면 그 시점까지만 기록하고 종료합니다.
+ * 종료 시 마지막 구간 기록이 실패하면 세션을 재시도 목록에 두고 다음 주기에 다시 기록합니다.
+ */
+@Slf4j
+@Component
+public class LiveTimerRegistry {
+
+    private final TimerService timerService;
+    private final Duration staleTimeout;
+    private final Duration heartbeatInterval;
+
+    private final ConcurrentHashMap<String, LiveSession> sessions = new ConcurrentHashMap<>();
+    // 종료됐지만 마지막 구간 기록이 실패한 세션 (checkpointAll에서 재시도)
+    private final Set<LiveSession> unfinished = ConcurrentHashMap.newKeySet();
+
+    public LiveTimerRegistry(TimerService timerService,
+                             @Value("${timer.live.stale-timeout-seconds:90}") long staleTimeoutSeconds,
+                             @Value("${timer.live.heartbeat-interval-seconds:30}") long heartbeatIntervalSeconds) {
+        this.timerService = timerService;
+        this.staleTimeout = Duration.ofSeconds(staleTimeoutSeconds);
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatIntervalSeconds);
+    }
+
+    /** 새 세션 시작. 같은 사용자의 기존 세션은 지금까지 기록하고 종료합니다. */
+    public LiveTimerStatus start(String userId, String wsSessionId, ZoneId zone) {
+        Instant now = Instant.now();
+        LiveSession previous = sessions.put(userId, new LiveSession(userId, wsSessionId, zone, now));
+        if (previous != null) {
+            finish(previous, now);
+        }
+        return new LiveTimerStatus(true, now.toString(), 0);
+    }
+
+    public LiveTimerStatus heartbeat(String userId) {
+        LiveSession session = sessions.get(userId);
+        if (session == null) {
+            return stopped();
+        }
+        session.lastHeartbeat = Instant.now();
+        return session.status();
+    }
+
+    public LiveTimerStatus stop(String userId) {
+        LiveSession session = sessions.remove(userId);
+        if (session == null) {
+            return stopped();
+        }
+        finish(session, Instant.now());
+        return new LiveTimerStatus(false, session.startedAt.toString(), session.recordedSeconds);
+    }
+
+    /** WebSocket 연결이 끊기면 하트비트로 확인된 시점까지만 기록하고 종료 (다른 연결에서 시작한 세션은 유지) */
+    public void disconnected(String userId, String wsSessionId) {
+        LiveSession session = sessions.get(userId);
+        if (session != null && session.wsSessionId.equals(wsSessionId)
+                && sessions.remove(userId, session)) {
+            finish(session, aliveUntil(session, Instant.now()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${timer.live.checkpoint-interval-ms:60000}")
+    public void checkpointAll() {
+        Instant now = Instant.now();
+        unfinished.forEach(session -> finish(session, session.finishAt));
+        sessions.forEach((userId, session) -> {
+            Instant lastHeartbeat = session.lastHeartbeat;
+            if (Duration.between(lastHeartbeat, now).compareTo(staleTimeout) > 0) {
+                if (sessions.remove(userId, session)) {
+                    log.info("Live timer for {} timed out (last heartbeat {})", userId, lastHeartbeat);
+                    finish(session, aliveUntil(session, now));
+                }
+            } else {
+                checkpoint(session, aliveUntil(session, now));
+            }
+        });
+    }
+
+    // 하트비트 사이 시간은 인정하되, 탭이 죽은 뒤 타임아웃까지의 시간은 기록하지 않도록 마지막 하트비트 + 한 주기로 제한
+    private Instant aliveUntil(LiveSession session, Instant now) {
+        Instant limit = session.lastHeartbeat.plus(heartbeatInterval);
+        return now.isBefore(limit) ? now : limit;
+    }
+
+    /** 배포/종료 시 실행 중인 세션을 지금까지 기록하고 종료 (다음 체크포인트 주기를 기다리지 않음) */
+    @PreDestroy
+    void shutdown() {
+        Instant now = Instant.now();
+        unfinished.forEach(session -> finish(session, session.finishAt));
+        sessions.forEach((userId, session) -> {
+            if (sessions.remove(userId, session)) {
+                finish(session, aliveUntil(session, now));
+            }
+        });
+        if (!unfinished.isEmpty()) {
+            log.error("{} live timer sessions could not be recorded before shutdown", unfinished.size());
+        }
+    }
+
+    // 마지막 구간까지 기록되면 종료. 실패하면 종료 시점을 기억해 두고 재시도 목록에 남김
+    private void finish(LiveSession session, Instant end) {
+        synchronized (session) {
+            if (session.finished) {
+                return;
+            }
+            if (checkpoint(session, end)) {
+                session.finished = true;
+                unfinished.remove(session);
+            } else {
+                session.finishAt = end;
+                unfinished.add(session);
+            }
+        }
+    }
+
+    // 마지막 체크포인트 이후 ~ upTo 구간을 기록. 실패하면 체크포인트를 옮기지 않아 다음 주기에 다시 시도
+    // record는 초 단위로 버림하므로, 체크포인트를 정수 초에 맞춰 옮겨야 주기마다 1초 미만이 사라지지 않음
+    // @return 기록할 구간이 없거나 기록에 성공하면 true
+    private boolean checkpoint(LiveSession session, Instant upTo) {
+        Instant end = upTo.truncatedTo(ChronoUnit.SECONDS);
+        synchronized (session) {
+            if (session.finished || !end.isAfter(session.checkpointedAt)) {
+                return true;
+            }
+            try {
+                timerService.record(session.userId, session.checkpointedAt, end, session.zone);
+                session.recordedSeconds += Duration.between(session.checkpointedAt, end).getSeconds();
+                session.checkpointedAt = end;
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Live timer checkpoint failed for {}", session.userId, e);
+                return false;
+            }
+        }
+    }
+
+    private static LiveTimerStatus stopped() {
+        return new LiveTimerStatus(false, null, 0);
+    }
+
+    private static class LiveSession {
+        final String userId;
+        final String wsSessionId;
+        final ZoneId zone;
+        final Instant startedAt;
+        volatile Instant lastHeartbeat;
+        // 아래 필드는 synchronized(this) 안에서만 변경
+        Instant checkpointedAt;
+        long recordedSeconds;
+        boolean finished;
+        Instant finishAt; // 마지막 구간 기록이 실패했을 때 기록해야 할 종료 시점
+
+        LiveSession(String userId, String wsSessionId, ZoneId zone, Instant startedAt) {
+            this.userId = userId;
+            this.wsSessionId = wsSessionId;
+            this.zone = zone;
+            this.startedAt = startedAt;
+            this.lastHeartbeat = startedAt;
+            this.checkpointedAt = startedAt.truncatedTo(ChronoUnit.SECONDS); // 체크포인트는 항상 정수 초
+        }
+
+        synchronized LiveTimerStatus status() {
+            return new LiveTimerStatus(!finished, startedAt.toString(), recordedSeconds);
+        }
+    }
+}
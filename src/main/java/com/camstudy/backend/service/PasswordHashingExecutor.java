@@ -0,0 +1,84 @@
+package com.camstudy.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+
+/**
+ * BCrypt/Argon2 같은 CPU 집약적인 해시 작업 전용 스레드 풀.
+ * 풀 크기와 대기열이 고정되어 있어, 로그인이 몰려도 Tomcat 워커 전체가 해시 계산에 묶이지 않습니다.
+ * 대기열이 가득 차면 기다리지 않고 바로 503으로 응답합니다.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    public static final String BUSY_MESSAGE = "요청이 많아 잠시 후 다시 시도해주세요.";
+
+    private final ThreadPoolExecutor pool;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${hashing.pool-size:0}") int poolSize,
+                                   @Value("${hashing.queue-capacity:32}") int queueCapacity) {
+        // 0 이하면 코어 하나는 나머지 API용으로 남겨둠
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.pool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("pw-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("hashing.duration")
+                .description("비밀번호 해시/검증 1건 처리 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("hashing.rejected")
+                .description("대기열 포화로 거절된 해시 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("hashing.queue.depth", pool, p -> p.getQueue().size())
+                .description("해시 작업 대기열 길이")
+                .register(meterRegistry);
+        Gauge.builder("hashing.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("해시 계산 중인 스레드 수")
+                .register(meterRegistry);
+    }
+
+    /** 해시 작업을 전용 풀에서 실행하고 결과를 기다립니다. 포화 시 BUSY_MESSAGE 예외. */
+    public <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new RuntimeException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
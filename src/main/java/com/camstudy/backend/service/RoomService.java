@@ -24,9 +24,12 @@ public class RoomService {
     private final RoomRepository roomRepo;
     private final MemberRepository memberRepo;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor hashingExecutor;
 
     public Room create(String name, Integer capacity, String rawPassword, String ownerId) {
-        String hash = (rawPassword == null || rawPassword.isBlank()) ? null : passwordEncoder.encode(rawPassword);
+        String hash = (rawPassword == null || rawPassword.isBlank())
+                ? null
+                : hashingExecutor.submit(() -> passwordEncoder.encode(rawPassword));
         var room = Room.builder()
                 .name(name)
                 .capacity(Optional.ofNullable(capacity).orElse(6))
@@ -47,7 +50,8 @@ public class RoomService {
 
     public void verifyPassword(Room room, String rawPassword) {
         if (room.getIsPrivate() != null && room.getIsPrivate()) {
-            if (rawPassword == null || !passwordEncoder.matches(rawPassword, room.getPasswordHash())) {
+            if (rawPassword == null
+                    || !hashingExecutor.submit(() -> passwordEncoder.matches(rawPassword, room.getPasswordHash()))) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "wrong password");
             }
         }
@@ -0,0 +1,105 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.dto.MonthlyTimerSummary;
+import com.camstudy.backend.dto.TimerMonthView;
+import com.camstudy.backend.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * (사용자, 연, 월) → 월별 집계 / 월별 날짜 목록 캐시. 분석 화면(/timer/analytics)과 월별 조회(GET /timer)가
+ * 새로고침마다 DB를 치지 않도록 합니다. timer의 날짜는 이미 사용자 로컬 날짜로 저장되므로 타임존은 키에 넣지 않습니다.
+ *
+ * 모든 타임존에서 이미 끝난 달은 오래 보관하고, 진행 중인 달은 짧게 보관합니다.
+ * 어느 달이든 기록/초기화/뽀모도로 변경이 일어나면 해당 달 항목은 커밋 후 바로 제거됩니다.
+ * 제거는 같은 키의 로딩이 끝날 때까지 기다리므로, 로더가 커밋된 최신 값을 읽기만 하면(호출자의 오래된
+ * 트랜잭션 스냅샷 밖에서 읽기만 하면) 커밋 전 값이 남지 않습니다.
+ * 적중률은 /actuator/metrics/cache.gets (cache=timer.analytics, timer.month-view) 로 확인합니다.
+ */
+@Component
+public class TimerAnalyticsCache {
+
+    private final Cache<MonthKey, MonthlyTimerSummary> cache;
+    private final Cache<MonthKey, TimerMonthView> monthViews;
+
+    public TimerAnalyticsCache(MeterRegistry meterRegistry,
+                               @Value("${timer.analytics-cache.max-size:20000}") long maxSize,
+                               @Value("${timer.analytics-cache.past-month-ttl-hours:24}") long pastMonthTtlHours,
+                               @Value("${timer.analytics-cache.current-month-ttl-seconds:300}") long currentMonthTtlSeconds) {
+        long pastNanos = Duration.ofHours(pastMonthTtlHours).toNanos();
+        long currentNanos = Duration.ofSeconds(currentMonthTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(TimerAnalyticsCache.<MonthlyTimerSummary>monthExpiry(pastNanos, currentNanos))
+                .recordStats()
+                .build();
+        this.monthViews = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(TimerAnalyticsCache.<TimerMonthView>monthExpiry(pastNanos, currentNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "timer.analytics");
+        CaffeineCacheMetrics.monitor(meterRegistry, monthViews, "timer.month-view");
+    }
+
+    private static <V> Expiry<MonthKey, V> monthExpiry(long pastNanos, long currentNanos) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(MonthKey key, V value, long currentTime) {
+                return isPastEverywhere(key.month()) ? pastNanos : currentNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(MonthKey key, V value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(MonthKey key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    public MonthlyTimerSummary get(String userId, YearMonth month, Supplier<MonthlyTimerSummary> loader) {
+        return cache.get(new MonthKey(userId, month), key -> loader.get());
+    }
+
+    public TimerMonthView getMonthView(String userId, YearMonth month, Supplier<TimerMonthView> loader) {
+        return monthViews.get(new MonthKey(userId, month), key -> loader.get());
+    }
+
+    public void invalidate(String userId, Collection<YearMonth> months) {
+        months.forEach(month -> {
+            MonthKey key = new MonthKey(userId, month);
+            cache.invalidate(key);
+            monthViews.invalidate(key);
+        });
+    }
+
+    /** 기록을 바꾸는 트랜잭션에서 호출: 커밋 후 해당 달 항목 제거 */
+    public void invalidateAfterCommit(String userId, Collection<YearMonth> months) {
+        List<YearMonth> copy = List.copyOf(months);
+        TransactionUtil.afterCommit(() -> invalidate(userId, copy));
+    }
+
+    // 가장 늦은 오프셋(ZoneOffset.MIN = -18:00) 기준으로도 지난 달이면 더 이상 "오늘"이 속할 수 없음
+    // (tz 파라미터는 ZoneId.of로 받으므로 실제 지역 타임존의 -12:00보다 늦은 고정 오프셋도 들어올 수 있음)
+    private static boolean isPastEverywhere(YearMonth month) {
+        return month.isBefore(YearMonth.now(ZoneOffset.MIN));
+    }
+
+    private record MonthKey(String userId, YearMonth month) {}
+}
@@ -1,123 +1,290 @@
 package com.camstudy.backend.service;
 
+import com.camstudy.backend.dto.MonthlyTimerSummary;
+import com.camstudy.backend.dto.TimerDayView;
+import com.camstudy.backend.dto.TimerHeatmapResponse;
+import com.camstudy.backend.dto.TimerMonthView;
+import com.camstudy.backend.dto.TimerSessionRequest;
 import com.camstudy.backend.dto.TodayTimeResponse;
 import com.camstudy.backend.dto.TimerAnalyticsResponse;
 import com.camstudy.backend.dto.TimerGoalResponse;
+import com.camstudy.backend.entity.GoalStreak;
 import com.camstudy.backend.entity.Timer;
 import com.camstudy.backend.entity.User;
+import com.camstudy.backend.repository.DailyTotalProjection;
+import com.camstudy.backend.repository.TimerMonthlyRepository;
 import com.camstudy.backend.repository.TimerRepository;
+import com.camstudy.backend.repository.TimerUpsertRepository;
 import com.camstudy.backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.camstudy.backend.service.UserProfileCache.UserProfile;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TimerService {
 
+    public static final String BATCH_TOO_LARGE_MESSAGE = "한 번에 보낼 수 있는 세션 수를 초과했습니다.";
+    public static final String INVALID_SESSION_MESSAGE = "잘못된 타이머 세션입니다.";
+
+    // 클라이언트 시계가 조금 빠른 경우까지 미래 세션으로 거절하지 않도록 허용하는 오차
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
     private final TimerRepository repo;
+    private final TimerUpsertRepository upsertRepository;
+    private final TimerMonthlyRepository monthlyRepo;
     private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
+    private final TimerWriteBuffer writeBuffer;
+    private final TimerAnalyticsCache analyticsCache;
+    private final LeaderboardService leaderboard;
+    private final GoalStreakService goalStreakService;
+    private final int maxBatchSessions;
+    private final Duration maxSessionDuration;
+
+    public TimerService(TimerRepository repo,
+                        TimerUpsertRepository upsertRepository,
+                        TimerMonthlyRepository monthlyRepo,
+                        UserRepository userRepository,
+                        UserProfileCache userProfileCache,
+                        TimerWriteBuffer writeBuffer,
+                        TimerAnalyticsCache analyticsCache,
+                        LeaderboardService leaderboard,
+                        GoalStreakService goalStreakService,
+                        @Value("${timer.batch.max-sessions:500}") int maxBatchSessions,
+                        @Value("${timer.batch.max-session-hours:24}") long maxSessionHours) {
+        this.repo = repo;
+        this.upsertRepository = upsertRepository;
+        this.monthlyRepo = monthlyRepo;
+        this.userRepository = userRepository;
+        this.userProfileCache = userProfileCache;
+        this.writeBuffer = writeBuffer;
+        this.analyticsCache = analyticsCache;
+        this.leaderboard = leaderboard;
+        this.goalStreakService = goalStreakService;
+        this.maxBatchSessions = maxBatchSessions;
+        this.maxSessionDuration = Duration.ofHours(maxSessionHours);
+    }
 
     /**
      * 사용자 로컬 타임존(userZone)을 기준으로 시간 분할하여 기록합니다.
+     * 날짜별 조각은 (userId, date) upsert 한 번의 배치로 누적됩니다.
      */
     @Transactional
     public void record(String userId,
                        Instant startAt,
                        Instant endAt,
                        ZoneId userZone) {
+        Map<LocalDate, Long> secondsByDate = new TreeMap<>();
+        sliceByLocalDate(secondsByDate, startAt, endAt, userZone);
+        apply(userId, secondsByDate);
+    }
 
-        // Instant → 사용자 로컬 ZonedDateTime
-        ZonedDateTime zStart = startAt.atZone(userZone);
-        ZonedDateTime zEnd   = endAt.atZone(userZone);
+    /**
+     * 오프라인 동안 쌓인 세션들을 한 번에 기록합니다.
+     * 모든 세션을 날짜별로 먼저 합친 뒤 한 트랜잭션의 배치 upsert 한 번으로 반영합니다.
+     * 세션은 자르기 전에 검증합니다: 시작 < 끝, 길이 timer.batch.max-session-hours 이하, 미래가 아님.
+     * 세션끼리 겹쳐 어떤 날의 합이 그 날의 길이를 넘어도 거절합니다.
+     */
+    @Transactional
+    public void recordBatch(String userId,
+                            List<TimerSessionRequest> sessions,
+                            ZoneId userZone) {
+        if (sessions == null) {
+            throw new RuntimeException(INVALID_SESSION_MESSAGE);
+        }
+        if (sessions.size() > maxBatchSessions) {
+            throw new RuntimeException(BATCH_TOO_LARGE_MESSAGE);
+        }
+        Instant latestEnd = Instant.now().plus(CLOCK_SKEW);
+        Map<LocalDate, Long> secondsByDate = new TreeMap<>();
+        for (TimerSessionRequest session : sessions) {
+            if (session == null) {
+                throw new RuntimeException(INVALID_SESSION_MESSAGE);
+            }
+            Instant startAt = parseInstant(session.startAt());
+            Instant endAt = parseInstant(session.endAt());
+            if (!endAt.isAfter(startAt)
+                    || Duration.between(startAt, endAt).compareTo(maxSessionDuration) > 0
+                    || endAt.isAfter(latestEnd)) {
+                throw new RuntimeException(INVALID_SESSION_MESSAGE);
+            }
+            sliceByLocalDate(secondsByDate, startAt, endAt, userZone);
+        }
+        secondsByDate.forEach((date, seconds) -> {
+            long dayLength = Duration.between(date.atStartOfDay(userZone),
+                    date.plusDays(1).atStartOfDay(userZone)).getSeconds(); // DST 전환일은 23/25시간
+            if (seconds > dayLength) {
+                throw new RuntimeException(INVALID_SESSION_MESSAGE);
+            }
+        });
+        apply(userId, secondsByDate);
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null) {
+            throw new RuntimeException(INVALID_SESSION_MESSAGE);
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException(INVALID_SESSION_MESSAGE);
+        }
+    }
+
+    private void apply(String userId, Map<LocalDate, Long> secondsByDate) {
+        if (secondsByDate.isEmpty()) {
+            return;
+        }
+        if (writeBuffer.isEnabled()) {
+            writeBuffer.add(userId, secondsByDate); // 메모리에 합쳐 두었다가 주기적으로 반영 (반영 시 캐시 제거)
+        } else {
+            Map<LocalDate, Long> dayTotals = upsertRepository.addSeconds(userId, secondsByDate);
+            goalStreakService.onRecorded(userId, secondsByDate, dayTotals);
+            analyticsCache.invalidateAfterCommit(userId, monthsOf(secondsByDate.keySet()));
+            leaderboard.updateAfterCommit(userId, dayTotals);
+        }
+    }
 
-        ZonedDateTime sliceStart = zStart;
+    private static Set<YearMonth> monthsOf(Collection<LocalDate> dates) {
+        Set<YearMonth> months = new TreeSet<>();
+        dates.forEach(date -> months.add(YearMonth.from(date)));
+        return months;
+    }
+
+    /**
+     * [startAt, endAt) 구간을 userZone 기준 자정마다 잘라 날짜별 초를 acc에 더합니다.
+     */
+    private static void sliceByLocalDate(Map<LocalDate, Long> acc,
+                                         Instant startAt,
+                                         Instant endAt,
+                                         ZoneId userZone) {
+        // Instant → 사용자 로컬 ZonedDateTime
+        ZonedDateTime zEnd = endAt.atZone(userZone);
+        ZonedDateTime sliceStart = startAt.atZone(userZone);
 
         // sliceStart가 zEnd 이전일 때만 반복
         while (sliceStart.isBefore(zEnd)) {
-            // sliceEnd: 해당 날짜의 자정까지 (userZone 기준)
-            ZonedDateTime sliceEnd = sliceStart
-                    .toLocalDate()
-                    .atTime(LocalTime.MAX)
-                    .atZone(userZone);
+            // sliceEnd: 다음 날 0시 (userZone 기준)
+            ZonedDateTime sliceEnd = sliceStart.toLocalDate().plusDays(1).atStartOfDay(userZone);
             if (sliceEnd.isAfter(zEnd)) {
                 sliceEnd = zEnd;
             }
 
             // Duration 전체 받아서 초 단위만 사용 (나노초 버림)
-            Duration d = Duration.between(sliceStart, sliceEnd);
-            long secs = d.getSeconds();
-
-            // 로컬 날짜 키
-            LocalDate date = sliceStart.toLocalDate();
-            Timer entry = repo.findByUserIdAndDate(userId, date)
-                    .orElseGet(() -> {
-                        Timer t = new Timer();
-                        t.setUserId(userId);
-                        t.setDate(date);
-                        t.setTotalSeconds(0L);
-                        return t;
-                    });
-
-            entry.setTotalSeconds(entry.getTotalSeconds() + secs);
-            repo.save(entry);
+            long secs = Duration.between(sliceStart, sliceEnd).getSeconds();
+            acc.merge(sliceStart.toLocalDate(), secs, Long::sum);
 
             // 다음 조각 시작은 이전 끝으로 설정
             sliceStart = sliceEnd;
         }
     }
 
-    public List<Timer> listByMonth(String userId, int year, int month, ZoneId userZone) {
-        LocalDate fromLocal = LocalDate.of(year, month, 1);
-        LocalDate toLocal   = fromLocal.withDayOfMonth(fromLocal.lengthOfMonth());
-        return repo.findByUserIdAndDateBetween(userId, fromLocal, toLocal);
+    // 캐시를 채우는 조회는 트랜잭션 밖(NOT_SUPPORTED)에서 실행합니다. 반복 읽기 트랜잭션 안에서 읽으면
+    // 첫 조회 시점의 스냅샷으로 로드되어, 그 사이 커밋되고 제거된 기록 이전 값이 캐시에 남을 수 있습니다.
+
+    /**
+     * 한 달치 날짜별 기록을 DTO 프로젝션 한 번으로 읽고, 합계도 같은 결과에서 계산합니다. (캐시 우선)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TimerMonthView listByMonth(String userId, int year, int month, ZoneId userZone) {
+        YearMonth ym = YearMonth.of(year, month);
+        return analyticsCache.getMonthView(userId, ym, () -> {
+            List<TimerDayView> entries = repo.findDayViews(userId, ym.atDay(1), ym.atEndOfMonth());
+            long total = 0;
+            for (TimerDayView entry : entries) {
+                total += entry.totalSeconds();
+            }
+            return new TimerMonthView(List.copyOf(entries), total);
+        });
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getMonthlyTotal(String userId, int year, int month, ZoneId userZone) {
-        return listByMonth(userId, year, month, userZone)
-                .stream().mapToLong(Timer::getTotalSeconds).sum();
+        return getMonthlySummary(userId, YearMonth.of(year, month)).totalSeconds();
+    }
+
+    /** 월별 집계 (캐시 우선) */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MonthlyTimerSummary getMonthlySummary(String userId, YearMonth month) {
+        return analyticsCache.get(userId, month, () -> loadMonthlySummary(userId, month));
+    }
+
+    /**
+     * 월별 집계 행(timer_monthly)을 읽습니다.
+     * 집계 행이 아직 없는 달(집계 도입 이전 기록)은 timer 행으로 바로 계산하고, 다음 기록 시 집계 행이 만들어집니다.
+     */
+    private MonthlyTimerSummary loadMonthlySummary(String userId, YearMonth month) {
+        return monthlyRepo.findByUserIdAndStatYearAndStatMonth(userId, month.getYear(), month.getMonthValue())
+                .map(MonthlyTimerSummary::from)
+                .orElseGet(() -> {
+                    Map<LocalDate, Long> dailyTotals = new HashMap<>();
+                    repo.findDailyTotals(userId, month.atDay(1), month.atEndOfMonth())
+                        .forEach(d -> dailyTotals.put(d.getDate(), d.getTotalSeconds()));
+                    return MonthlyTimerSummary.fromDailyTotals(dailyTotals);
+                });
+    }
+
+    /** 한 해의 날짜별 집중 시간을 한 번의 범위 조회로 배열에 채웁니다. */
+    public TimerHeatmapResponse getHeatmap(String userId, int year) {
+        LocalDate start = LocalDate.ofYearDay(year, 1);
+        LocalDate end = start.withDayOfYear(start.lengthOfYear());
+        int[] dailySeconds = new int[start.lengthOfYear()];
+        for (DailyTotalProjection day : repo.findDailyTotals(userId, start, end)) {
+            dailySeconds[day.getDate().getDayOfYear() - 1] = (int) Math.min(day.getTotalSeconds(), Integer.MAX_VALUE);
+        }
+        return new TimerHeatmapResponse(year, start.toString(), dailySeconds);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TimerAnalyticsResponse getTimerAnalytics(
             String userEmail,
             int year,
             int month,
             ZoneId userZone
     ) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
         LocalDate todayLocal = LocalDate.now(userZone);
-        long dailyGoalSec = user.getDailyGoalHours() * 3600L;
+        long todaySeconds = writeBuffer.readConsistent(() -> repo.findByUserIdAndDate(userEmail, todayLocal)
+                .map(Timer::getTotalSeconds)
+                .orElse(0L) + writeBuffer.pendingSeconds(userEmail, todayLocal));
+
+        UserProfile user = userProfileCache.get(userEmail);
+        long dailyGoalSec = user.dailyGoalHours() * 3600L;
+        double achievementRateToday = todaySeconds == 0
+                ? 0.0
+                : Math.min(100.0, (todaySeconds * 100.0) / dailyGoalSec);
 
-        double achievementRateToday = repo.findByUserIdAndDate(userEmail, todayLocal)
-                .map(e -> Math.min(100.0, (e.getTotalSeconds() * 100.0) / dailyGoalSec))
-                .orElse(0.0);
+        YearMonth currentMonth = YearMonth.of(year, month);
+        MonthlyTimerSummary current = getMonthlySummary(userEmail, currentMonth);
+        MonthlyTimerSummary previous = getMonthlySummary(userEmail, currentMonth.minusMonths(1));
 
-        long currentTotal  = getMonthlyTotal(userEmail, year, month, userZone);
-        LocalDate prevMonthStart = LocalDate.of(year, month, 1).minusMonths(1);
-        long previousTotal = getMonthlyTotal(userEmail, prevMonthStart.getYear(), prevMonthStart.getMonthValue(), userZone);
+        long currentTotal  = current.totalSeconds();
+        long previousTotal = previous.totalSeconds();
         long diff = currentTotal - previousTotal;
         Double changeRate = previousTotal == 0 ? null : diff * 100.0 / previousTotal;
 
-        Map<DayOfWeek, Long> weekdayStats = new EnumMap<>(DayOfWeek.class);
-        listByMonth(userEmail, year, month, userZone)
-            .forEach(e -> weekdayStats.merge(e.getDate().getDayOfWeek(), e.getTotalSeconds(), Long::sum));
-
-        Optional<Timer> best = listByMonth(userEmail, year, month, userZone)
-            .stream().max(Comparator.comparingLong(Timer::getTotalSeconds));
-
-        TimerAnalyticsResponse.BestFocusDay bestDay = best.map(e ->
+        TimerAnalyticsResponse.BestFocusDay bestDay = current.bestDate() == null ? null :
             TimerAnalyticsResponse.BestFocusDay.builder()
-                .date(e.getDate().toString())
-                .totalSeconds(e.getTotalSeconds())
-                .dailyHourGoal(user.getDailyGoalHours())
-                .build()
-        ).orElse(null);
+                .date(current.bestDate().toString())
+                .totalSeconds(current.bestSeconds())
+                .dailyHourGoal(user.dailyGoalHours())
+                .build();
+
+        // 어제도 오늘도 달성하지 못했으면 연속 기록은 끊긴 것으로 표시
+        GoalStreak streak = goalStreakService.find(userEmail);
+        LocalDate lastMet = streak == null ? null : streak.getLastMetDate();
+        boolean ongoing = lastMet != null && !lastMet.isBefore(todayLocal.minusDays(1));
+        TimerAnalyticsResponse.GoalStreak goalStreak = TimerAnalyticsResponse.GoalStreak.builder()
+            .currentStreak(ongoing ? streak.getCurrentStreak() : 0)
+            .longestStreak(streak == null ? 0 : streak.getLongestStreak())
+            .lastMetDate(lastMet == null ? null : lastMet.toString())
+            .build();
 
         return TimerAnalyticsResponse.builder()
             .achievementRateToday(achievementRateToday)
@@ -129,37 +296,42 @@ public class TimerService {
                     .changeRate(changeRate)
                     .build()
             )
-            .weekdayStats(weekdayStats)
+            .weekdayStats(current.weekdaySeconds())
             .bestFocusDay(bestDay)
+            .goalStreak(goalStreak)
             .build();
     }
 
     public TodayTimeResponse getTodayTime(String userEmail, ZoneId userZone) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
         LocalDate todayLocal = LocalDate.now(userZone);
-        Timer t = repo.findByUserIdAndDate(userEmail, todayLocal)
-            .orElseGet(() -> {
-                Timer x = new Timer();
-                x.setUserId(userEmail);
-                x.setDate(todayLocal);
-                x.setTotalSeconds(0);
-                return x;
-            });
+        TodayRow today = writeBuffer.readConsistent(() -> {
+            Timer found = repo.findByUserIdAndDate(userEmail, todayLocal)
+                .orElseGet(() -> {
+                    Timer x = new Timer();
+                    x.setUserId(userEmail);
+                    x.setDate(todayLocal);
+                    x.setTotalSeconds(0);
+                    return x;
+                });
+            // 아직 반영 전인 기록 포함
+            return new TodayRow(found, found.getTotalSeconds() + writeBuffer.pendingSeconds(userEmail, todayLocal));
+        });
+        UserProfile user = userProfileCache.get(userEmail);
+        Timer t = today.timer();
         return new TodayTimeResponse(
             t.getId(),
             t.getUserId(),
             t.getDate().toString(),
-            t.getTotalSeconds(),
-            user.getDailyGoalHours(),
+            today.totalSeconds(),
+            user.dailyGoalHours(),
             t.getPomoCycles()
         );
     }
 
+    private record TodayRow(Timer timer, long totalSeconds) {}
+
     public TimerGoalResponse getTimerGoal(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return new TimerGoalResponse(user.getDailyGoalHours());
+        return new TimerGoalResponse(userProfileCache.get(userEmail).dailyGoalHours());
     }
 
     @Transactional
@@ -167,30 +339,24 @@ public class TimerService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         user.setDailyGoalHours(newHour);
+        goalStreakService.recompute(userEmail, newHour);
+        userProfileCache.evictAfterCommit(userEmail);
         return new TimerGoalResponse(user.getDailyGoalHours());
     }
 
     @Transactional
     public void updatePomoCycles(String userEmail, LocalDate date, int cycles) {
-        Timer entry = repo.findByUserIdAndDate(userEmail, date)
-            .orElseGet(() -> {
-                Timer t = new Timer();
-                t.setUserId(userEmail);
-                t.setDate(date);
-                t.setTotalSeconds(0L);
-                return t;
-            });
-        entry.setPomoCycles(cycles);
-        repo.save(entry);
+        upsertRepository.setPomoCycles(userEmail, date, cycles);
+        analyticsCache.invalidateAfterCommit(userEmail, List.of(YearMonth.from(date))); // 월별 목록에 보이는 값
     }
 
     @Transactional
     public void resetDailyTimer(String userEmail, LocalDate date, ZoneId userZone) {
-        repo.findByUserIdAndDate(userEmail, date)
-            .ifPresent(timer -> {
-                timer.setTotalSeconds(0);
-                timer.setPomoCycles(0);
-                repo.save(timer);
-            });
+        // 버퍼에 남은 기록이 초기화 뒤에 더해지지 않도록 먼저 반영
+        writeBuffer.flushAndWait();
+        upsertRepository.resetDay(userEmail, date);
+        goalStreakService.recompute(userEmail, userProfileCache.get(userEmail).dailyGoalHours());
+        analyticsCache.invalidateAfterCommit(userEmail, List.of(YearMonth.from(date)));
+        leaderboard.resetAfterCommit(userEmail, date);
     }
 }
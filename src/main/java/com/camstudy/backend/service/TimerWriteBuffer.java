@@ -0,0 +1,485 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.repository.TimerUpsertRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 타이머 기록 write-behind 버퍼 (timer.write-behind.enabled=true 일 때만 동작).
+ *
+ * POST /timer 증가분을 (userId, date)별로 메모리에서 합쳐 두었다가 주기적으로(또는 키 개수가 임계치를 넘으면)
+ * 한 트랜잭션의 배치 upsert로 반영합니다. 모든 증가분은 먼저 로컬 저널 파일에 append(+ fsync) 되므로
+ * 프로세스나 호스트가 죽어도 다음 시작 시 저널을 읽어 DB에 반영합니다.
+ * (DB 반영 직후 저널 삭제 전에 죽으면 해당 구간이 한 번 더 더해질 수 있습니다.)
+ *
+ * 배치 반영이 실패하면 DB에 연결되는지 먼저 확인합니다. 연결이 안 되면(DB 장애) 전체를 다시 대기열에 넣고,
+ * 연결되면 사용자별로 timer.write-behind.retry-attempts 번까지 간격을 늘려 가며 다시 시도합니다.
+ * 그래도 실패한 사용자는 다시 대기열에 넣고, 연속 timer.write-behind.max-failed-flushes 번 실패하면
+ * 저널 옆의 .dead 파일(저널과 같은 형식)로 옮기고 로그를 남깁니다. (한 사용자 때문에 모든 flush가 막히지 않게)
+ */
+@Slf4j
+@Component
+public class TimerWriteBuffer {
+
+    private final TimerUpsertRepository upsertRepository;
+    private final TimerAnalyticsCache analyticsCache;
+    private final LeaderboardService leaderboard;
+    private final GoalStreakService goalStreakService;
+    private final TransactionTemplate txTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int maxPendingKeys;
+    private final boolean fsync;
+    private final int retryAttempts;
+    private final long retryBackoffMs;
+    private final int maxFailedFlushes;
+    private final Path journalPath;
+    private final Path flushingPath;
+    private final Path deadLetterPath;
+
+    // (userId, date) → 아직 DB에 반영되지 않은 초. ConcurrentHashMap은 버킷 단위로 잠기므로 키별 경합이 분산됨
+    private final ConcurrentHashMap<PendingKey, Long> pending = new ConcurrentHashMap<>();
+    // flush가 꺼내 가서 DB에 반영 중인 초 (커밋되면 그 키를 제거)
+    private final ConcurrentHashMap<PendingKey, Long> inFlight = new ConcurrentHashMap<>();
+    // 증가분 기록은 공유 잠금, 저널 교체 + pending 비우기는 배타 잠금
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    // 조회(DB 값 + pending + inFlight)는 공유 잠금. pending → inFlight 이동, 커밋 + inFlight 제거,
+    // inFlight → pending 되돌리기는 배타 잠금 (DB 작업 자체는 잠금 밖)
+    // → 조회 중에 증가분이 어디에서도 안 보이거나, 두 곳에서 두 번 보이는 순간이 없음
+    private final ReentrantReadWriteLock persistLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 사용자별 연속 실패한 flush 수 (flushLock 안에서만 접근)
+    private final Map<String, Integer> failedFlushes = new HashMap<>();
+    private FileChannel journal;
+
+    public TimerWriteBuffer(TimerUpsertRepository upsertRepository,
+                            TimerAnalyticsCache analyticsCache,
+                            LeaderboardService leaderboard,
+                            GoalStreakService goalStreakService,
+                            PlatformTransactionManager transactionManager,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${timer.write-behind.enabled:false}") boolean enabled,
+                            @Value("${timer.write-behind.max-pending:5000}") int maxPendingKeys,
+                            @Value("${timer.write-behind.fsync:true}") boolean fsync,
+                            @Value("${timer.write-behind.retry-attempts:3}") int retryAttempts,
+                            @Value("${timer.write-behind.retry-backoff-ms:200}") long retryBackoffMs,
+                            @Value("${timer.write-behind.max-failed-flushes:5}") int maxFailedFlushes,
+                            @Value("${timer.write-behind.journal:./data/timer-journal.log}") String journalPath) {
+        this.upsertRepository = upsertRepository;
+        this.analyticsCache = analyticsCache;
+        this.leaderboard = leaderboard;
+        this.goalStreakService = goalStreakService;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        // 호출한 쪽 트랜잭션과 무관하게 바로 커밋되어야 저널을 지울 수 있음
+        this.txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.maxPendingKeys = maxPendingKeys;
+        this.fsync = fsync;
+        this.retryAttempts = Math.max(1, retryAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxFailedFlushes = Math.max(1, maxFailedFlushes);
+        this.journalPath = Path.of(journalPath);
+        this.flushingPath = Path.of(journalPath + ".flushing");
+        this.deadLetterPath = Path.of(journalPath + ".dead");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 이전 실행에서 반영되지 못한 저널을 DB에 반영하고 새 저널을 엽니다. */
+    @PostConstruct
+    void recover() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            recoverJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recoverJournal() throws IOException {
+        Path dir = journalPath.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+
+        Map<PendingKey, Long> recovered = new HashMap<>();
+        for (Path path : List.of(flushingPath, journalPath)) {
+            if (Files.exists(path)) {
+                readJournal(path, recovered);
+            }
+        }
+        Map<PendingKey, Long> retry = recovered.isEmpty() ? Map.of() : persistOrDeadLetter(recovered);
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} timer increments from journal ({} left for the next flush)",
+                    recovered.size(), retry.size());
+        }
+
+        if (retry.isEmpty()) {
+            Files.deleteIfExists(journalPath);
+        } else {
+            // 반영하지 못한 증가분만 남긴 저널로 교체한 뒤 대기열에 넣음 (다음 flush에서 다시 시도)
+            Path tmp = Path.of(journalPath + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, Map<LocalDate, Long>> e : byUser(retry).entrySet()) {
+                    writeFully(channel, journalLines(e.getKey(), e.getValue()));
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            pending.putAll(retry);
+        }
+        Files.deleteIfExists(flushingPath);
+        journal = openJournal();
+    }
+
+    /** 날짜별 증가분을 저널에 남기고 메모리에 합칩니다. */
+    public void add(String userId, Map<LocalDate, Long> secondsByDate) {
+        append(userId, secondsByDate);
+        if (pending.size() >= maxPendingKeys) {
+            flush();
+        }
+    }
+
+    private void append(String userId, Map<LocalDate, Long> secondsByDate) {
+        journalLock.readLock().lock();
+        try {
+            // 한 요청의 줄들을 한 번의 write로 기록 (APPEND 채널의 write는 서로 섞이지 않음)
+            writeFully(journal, journalLines(userId, secondsByDate));
+            if (fsync) {
+                journal.force(false); // OS 버퍼가 아니라 디스크까지 내려가야 "기록됨"으로 응답
+            }
+            secondsByDate.forEach((date, secs) ->
+                    pending.merge(new PendingKey(userId, date), secs, Long::sum));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * DB 값과 아직 반영되지 않은 초를 함께 읽습니다. read 안에서 DB를 조회하고 pendingSeconds를 더하면,
+     * 그 사이에 flush가 커밋되어 증가분이 빠지거나 두 번 더해지지 않습니다.
+     * (반복 읽기 트랜잭션이라면 read 안의 조회가 트랜잭션의 첫 DB 조회여야 스냅샷도 최신입니다.)
+     */
+    public <T> T readConsistent(Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        persistLock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            persistLock.readLock().unlock();
+        }
+    }
+
+    /** 아직 DB에 반영되지 않은 초, 반영 중인 것 포함 (readConsistent 안에서 DB 값에 더해서 보여주기 위함) */
+    public long pendingSeconds(String userId, LocalDate date) {
+        PendingKey key = new PendingKey(userId, date);
+        return pending.getOrDefault(key, 0L) + inFlight.getOrDefault(key, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${timer.write-behind.flush-interval-ms:3000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    /** 다른 flush가 진행 중이면 건너뜁니다. */
+    public void flush() {
+        if (enabled && flushLock.tryLock()) {
+            try {
+                doFlush();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /** 지금까지 쌓인 증가분이 모두 DB에 반영될 때까지 기다립니다. (일일 초기화 전 등) */
+    public void flushAndWait() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        flushAndWait();
+        try {
+            journal.close(); // 모든 기록은 append 때 이미 force 됨
+        } catch (IOException e) {
+            log.warn("Failed to close timer journal", e);
+        }
+    }
+
+    private void doFlush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<PendingKey, Long> drained = new HashMap<>();
+        persistLock.writeLock().lock();
+        try {
+            journalLock.writeLock().lock();
+            try {
+                // 저널 교체: 지금까지의 기록은 .flushing 으로 넘기고 이후 기록은 새 파일에
+                journal.close();
+                Files.move(journalPath, flushingPath, StandardCopyOption.REPLACE_EXISTING);
+                journal = openJournal();
+
+                drained.putAll(pending);
+                inFlight.putAll(pending);
+                pending.clear(); // 배타 잠금 중이라 그 사이 add 없음
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                journalLock.writeLock().unlock();
+            }
+        } finally {
+            persistLock.writeLock().unlock();
+        }
+
+        // DB 작업 동안에는 조회를 막지 않음 (반영 중인 초는 inFlight로 보임)
+        Map<PendingKey, Long> retry = persistOrDeadLetter(drained);
+        persistLock.writeLock().lock();
+        try {
+            if (!retry.isEmpty()) {
+                requeue(retry);
+            }
+            inFlight.clear(); // 남은 것은 dead letter로 옮겨진 것뿐
+        } finally {
+            persistLock.writeLock().unlock();
+        }
+
+        try {
+            Files.deleteIfExists(flushingPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 한 번에 반영하고, 실패하면 DB 연결을 확인한 뒤 사용자별로 다시 시도합니다.
+     * @return 다시 대기열에 넣을 증가분 (DB 장애이거나, 연속 실패 횟수가 아직 한도 아래인 사용자)
+     */
+    private Map<PendingKey, Long> persistOrDeadLetter(Map<PendingKey, Long> increments) {
+        try {
+            persist(increments);
+            failedFlushes.clear();
+            return Map.of();
+        } catch (RuntimeException e) {
+            log.warn("Timer write-behind flush of {} increments failed", increments.size(), e);
+        }
+        if (!databaseReachable()) {
+            // DB 장애는 사용자 탓이 아니므로 실패 횟수를 세지 않고 전부 다음 flush로
+            log.warn("Database unreachable, re-queueing {} timer increments", increments.size());
+            return increments;
+        }
+
+        Map<String, Map<PendingKey, Long>> byUser = new TreeMap<>();
+        increments.forEach((key, secs) -> byUser.computeIfAbsent(key.userId(), u -> new HashMap<>()).put(key, secs));
+
+        Map<PendingKey, Long> retry = new HashMap<>();
+        Map<PendingKey, Long> dead = new HashMap<>();
+        byUser.forEach((userId, userIncrements) -> {
+            if (persistWithRetry(userId, userIncrements)) {
+                failedFlushes.remove(userId);
+                return;
+            }
+            int failures = failedFlushes.merge(userId, 1, Integer::sum);
+            if (failures >= maxFailedFlushes) {
+                failedFlushes.remove(userId);
+                dead.putAll(userIncrements);
+            } else {
+                retry.putAll(userIncrements);
+            }
+        });
+        if (!dead.isEmpty()) {
+            deadLetter(dead);
+        }
+        return retry;
+    }
+
+    // 잠금 대기 시간 초과/데드락 같은 일시적 실패를 위해 간격을 두 배씩 늘려 가며 다시 시도
+    private boolean persistWithRetry(String userId, Map<PendingKey, Long> increments) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                persist(increments);
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Timer write-behind flush failed for {} (attempt {}/{})", userId, attempt, retryAttempts, e);
+                if (attempt >= retryAttempts) {
+                    return false;
+                }
+            }
+            try {
+                Thread.sleep(retryBackoffMs << (attempt - 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private boolean databaseReachable() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // DB는 살아 있는데 계속 실패하는 증가분: 저널 형식으로 남겨 원인 확인 후 수동 반영
+    private void deadLetter(Map<PendingKey, Long> increments) {
+        Map<String, Map<LocalDate, Long>> byUser = byUser(increments);
+        try (FileChannel channel = FileChannel.open(deadLetterPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (Map.Entry<String, Map<LocalDate, Long>> e : byUser.entrySet()) {
+                writeFully(channel, journalLines(e.getKey(), e.getValue()));
+            }
+            channel.force(false);
+            log.error("Moved {} timer increments of {} users to {}", increments.size(), byUser.size(), deadLetterPath);
+        } catch (IOException e) {
+            // 파일에도 못 남기면 로그에라도 남김
+            log.error("Failed to write timer dead letters, dropping {}", byUser, e);
+        }
+    }
+
+    // 사용자별로 묶어 한 트랜잭션에서 배치 upsert (잠금 순서를 맞추기 위해 사용자/날짜 순 정렬)
+    private void persist(Map<PendingKey, Long> increments) {
+        Map<String, Map<LocalDate, Long>> byUser = byUser(increments);
+
+        txTemplate.executeWithoutResult(status -> {
+            removeFromInFlightOnCommit(increments.keySet());
+            byUser.forEach((userId, secondsByDate) -> {
+                Map<LocalDate, Long> dayTotals = upsertRepository.addSeconds(userId, secondsByDate);
+                goalStreakService.onRecorded(userId, secondsByDate, dayTotals);
+                leaderboard.updateAfterCommit(userId, dayTotals); // 행 잠금 중에 초기화 순번을 기억
+            });
+        });
+
+        // 커밋이 끝났으므로 바뀐 달의 분석 캐시 제거 (리더보드는 커밋 후 콜백으로 갱신)
+        byUser.forEach((userId, secondsByDate) -> {
+            Set<YearMonth> months = new TreeSet<>();
+            secondsByDate.keySet().forEach(date -> months.add(YearMonth.from(date)));
+            analyticsCache.invalidate(userId, months);
+        });
+    }
+
+    // 커밋 순간에만 배타 잠금을 잡아, 커밋된 증가분이 DB와 inFlight에 동시에 보이지 않게 함
+    private void removeFromInFlightOnCommit(Set<PendingKey> keys) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                persistLock.writeLock().lock();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    keys.forEach(inFlight::remove);
+                }
+                if (persistLock.isWriteLockedByCurrentThread()) {
+                    persistLock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    // persistLock 배타 잠금 안에서 호출: 반영 중이던 증가분을 다시 pending(+ 새 저널)으로
+    private void requeue(Map<PendingKey, Long> increments) {
+        increments.keySet().forEach(inFlight::remove);
+        byUser(increments).forEach(this::append); // 여기서 다시 flush하지 않음
+    }
+
+    private static Map<String, Map<LocalDate, Long>> byUser(Map<PendingKey, Long> increments) {
+        Map<String, Map<LocalDate, Long>> byUser = new TreeMap<>();
+        increments.forEach((key, secs) ->
+                byUser.computeIfAbsent(key.userId(), u -> new TreeMap<>()).merge(key.date(), secs, Long::sum));
+        return byUser;
+    }
+
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer journalLines(String userId, Map<LocalDate, Long> secondsByDate) {
+        StringBuilder lines = new StringBuilder();
+        secondsByDate.forEach((date, secs) ->
+                lines.append(userId).append('\t').append(date).append('\t').append(secs).append('\n'));
+        return ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readJournal(Path path, Map<PendingKey, Long> acc) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length != 3) {
+                    continue; // 기록 도중 끊긴 마지막 줄
+                }
+                try {
+                    acc.merge(new PendingKey(parts[0], LocalDate.parse(parts[1])),
+                            Long.parseLong(parts[2]), Long::sum);
+                } catch (RuntimeException e) {
+                    // 손상된 줄은 건너뜀
+                }
+            }
+        }
+    }
+
+    private record PendingKey(String userId, LocalDate date) {}
+}
@@ -0,0 +1,92 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.util.RankKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 투두 순위 키 재정렬. 같은 자리에 반복해서 끼워 넣으면 키가 길어지므로,
+ * 키가 todo-rank.max-key-length 를 넘은 창은 주기적으로 현재 순서 그대로 균등 간격 키를 다시 매깁니다.
+ * 순서는 바뀌지 않으므로 클라이언트에 보이는 목록은 그대로입니다.
+ */
+@Slf4j
+@Component
+public class TodoRankRebalancer {
+
+    private static final String LONG_KEY_WINDOWS_SQL = """
+            SELECT DISTINCT window_id FROM todo_items
+            WHERE sort_rank IS NULL OR CHAR_LENGTH(sort_rank) > ?
+            """;
+
+    // 순위 없는 행(동시 추가 등)은 맨 뒤로
+    private static final String LOCK_WINDOW_SQL = """
+            SELECT id FROM todo_items
+            WHERE window_id = ?
+            ORDER BY sort_rank IS NULL, sort_rank, id
+            FOR UPDATE
+            """;
+
+    private static final String SET_RANK_SQL = "UPDATE todo_items SET sort_rank = ? WHERE id = ?";
+
+    private static final String WINDOW_OWNER_SQL = "SELECT user_id FROM windows WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkspaceVersions workspaceVersions;
+    private final TransactionTemplate txTemplate;
+    private final int maxKeyLength;
+
+    public TodoRankRebalancer(JdbcTemplate jdbcTemplate,
+                              WorkspaceVersions workspaceVersions,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${todo-rank.max-key-length:24}") int maxKeyLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.workspaceVersions = workspaceVersions;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /** 이 키가 재정렬 기준보다 긴지 (기준을 넘는 키는 만들자마자 같은 트랜잭션에서 재정렬) */
+    public boolean isTooLong(String rank) {
+        return rank != null && rank.length() > maxKeyLength;
+    }
+
+    @Scheduled(fixedDelayString = "${todo-rank.rebalance-interval-ms:3600000}")
+    public void rebalanceLongKeys() {
+        List<Long> windowIds = jdbcTemplate.queryForList(LONG_KEY_WINDOWS_SQL, Long.class, maxKeyLength);
+        for (Long windowId : windowIds) {
+            try {
+                txTemplate.executeWithoutResult(status -> {
+                    rebalance(windowId);
+                    // 응답의 rank 값이 바뀌므로 목록 ETag 무효화 (TodoService 안에서의 재정렬은 서비스가 올림)
+                    jdbcTemplate.queryForList(WINDOW_OWNER_SQL, String.class, windowId).stream()
+                            .filter(Objects::nonNull)
+                            .forEach(workspaceVersions::bumpAfterCommit);
+                });
+            } catch (RuntimeException e) {
+                log.warn("Todo rank rebalance failed for window {}", windowId, e);
+            }
+        }
+        if (!windowIds.isEmpty()) {
+            log.info("Rebalanced todo ranks in {} windows", windowIds.size());
+        }
+    }
+
+    /** 창의 모든 투두를 현재 순서대로 균등 간격 키로 다시 매김 (호출한 쪽 트랜잭션 안에서 실행) */
+    public void rebalance(Long windowId) {
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_WINDOW_SQL, Long.class, windowId);
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batchArgs.add(new Object[]{RankKeys.spaced(i + 1), ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate(SET_RANK_SQL, batchArgs);
+    }
+}
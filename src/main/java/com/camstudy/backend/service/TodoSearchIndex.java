@@ -0,0 +1,193 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.repository.TodoItemRepository;
+import com.camstudy.backend.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 투두 텍스트 부분 문자열 검색 인덱스 (메모리, 2-gram 역색인).
+ *
+ * 한국어는 띄어쓰기 단위 LIKE 검색이 잘 맞지 않으므로 글자 2개 단위로 색인하고,
+ * 후보를 실제 문자열 포함 여부로 한 번 더 걸러 정확한 부분 문자열 결과만 돌려줍니다.
+ * 인덱스는 처음 검색할 때 만들어지고, 이후 TodoService 변경이 커밋되면 같이 갱신됩니다.
+ * 전체 크기는 todo-search.max-bytes(추정 힙 사용량)로 제한되며 오래 검색하지 않은 사용자부터 제거됩니다.
+ */
+@Component
+public class TodoSearchIndex {
+
+    private final TodoItemRepository todoItemRepository;
+    private final Cache<String, UserIndex> indexes;
+
+    public TodoSearchIndex(TodoItemRepository todoItemRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${todo-search.max-bytes:67108864}") long maxBytes,
+                           @Value("${todo-search.idle-minutes:30}") long idleMinutes) {
+        this.todoItemRepository = todoItemRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String userId, UserIndex index) -> index.estimatedBytes())
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "todo.search");
+    }
+
+    /** q를 포함하는 투두 id (최근 id 순, 최대 limit개) */
+    public List<Long> search(String userId, String q, int limit) {
+        String query = normalize(q);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return indexes.get(userId, this::build).search(query, limit);
+    }
+
+    /** 추가/텍스트 수정 커밋 후 반영 (인덱스가 아직 없는 사용자는 다음 검색 때 DB에서 만들어짐) */
+    public void putAfterCommit(String userId, Long todoId, String text) {
+        TransactionUtil.afterCommit(() -> update(userId, index -> index.put(todoId, normalize(text))));
+    }
+
+    public void putAllAfterCommit(String userId, Collection<Long> todoIds, String text) {
+        List<Long> ids = List.copyOf(todoIds);
+        String normalized = normalize(text);
+        TransactionUtil.afterCommit(() -> update(userId, index -> ids.forEach(id -> index.put(id, normalized))));
+    }
+
+    public void removeAfterCommit(String userId, Collection<Long> todoIds) {
+        List<Long> ids = List.copyOf(todoIds);
+        TransactionUtil.afterCommit(() -> update(userId, index -> ids.forEach(index::remove)));
+    }
+
+    /** 창 삭제처럼 여러 투두가 한꺼번에 사라질 때: 다음 검색 때 다시 만듦 */
+    public void invalidateAfterCommit(String userId) {
+        TransactionUtil.afterCommit(() -> indexes.invalidate(userId));
+    }
+
+    // computeIfPresent로 갱신해야 Caffeine이 weight를 다시 계산함
+    private void update(String userId, Consumer<UserIndex> change) {
+        indexes.asMap().computeIfPresent(userId, (key, index) -> {
+            change.accept(index);
+            return index;
+        });
+    }
+
+    private UserIndex build(String userId) {
+        UserIndex index = new UserIndex();
+        todoItemRepository.findTextsByUserId(userId)
+                .forEach(row -> index.put(row.getId(), normalize(row.getText())));
+        return index;
+    }
+
+    // 전각/반각, 조합형 한글 등을 같은 형태로 맞추고 대소문자 무시
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+    }
+
+    /** 한 사용자의 역색인. 메서드 단위로 동기화 */
+    static class UserIndex {
+
+        // 64비트 JVM(compressed oops) 기준 대략적인 객체 크기. 메모리는 글자 수보다 posting 수에 비례함
+        // posting 1개: HashSet 안의 HashMap.Node(32) + 테이블 슬롯(~8). Long은 같은 투두의 posting끼리 공유
+        private static final int POSTING_BYTES = 40;
+        // 2-gram 1개: 2글자 String(~48) + postings의 Node·슬롯(~40) + HashSet·내부 HashMap·기본 테이블(~160)
+        private static final int GRAM_BYTES = 250;
+        // 투두 1개: texts의 Node·슬롯(~40) + Long(16) + String 헤더와 배열 헤더(~40). 글자는 따로 (UTF-16 2바이트)
+        private static final int TODO_BYTES = 96;
+        private static final int CHAR_BYTES = 2;
+
+        private final Map<Long, String> texts = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private long postingCount;
+        private long charCount;
+
+        synchronized void put(Long id, String text) {
+            remove(id);
+            texts.put(id, text);
+            for (String gram : grams(text)) {
+                if (postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id)) {
+                    postingCount++;
+                }
+            }
+            charCount += text.length();
+        }
+
+        synchronized void remove(Long id) {
+            String previous = texts.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : grams(previous)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null && ids.remove(id)) {
+                    postingCount--;
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            charCount -= previous.length();
+        }
+
+        synchronized List<Long> search(String query, int limit) {
+            Collection<Long> candidates;
+            if (query.codePointCount(0, query.length()) < 2) {
+                candidates = texts.keySet(); // 한 글자 검색은 색인 없이 전체 확인 (사용자당 투두 수 규모)
+            } else {
+                candidates = null;
+                // 가장 짧은 posting부터 교집합
+                List<Set<Long>> lists = new ArrayList<>();
+                for (String gram : grams(query)) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids == null) {
+                        return List.of();
+                    }
+                    lists.add(ids);
+                }
+                lists.sort(Comparator.comparingInt(Set::size));
+                for (Set<Long> ids : lists) {
+                    if (candidates == null) {
+                        candidates = new HashSet<>(ids);
+                    } else {
+                        candidates.retainAll(ids);
+                    }
+                }
+            }
+            // 2-gram이 모두 있어도 순서가 다를 수 있으므로 실제 포함 여부로 확인
+            return candidates.stream()
+                    .filter(id -> texts.get(id).contains(query))
+                    .sorted(Comparator.reverseOrder())
+                    .limit(limit)
+                    .toList();
+        }
+
+        /** Caffeine weigher용 추정 힙 사용량 (바이트) */
+        synchronized int estimatedBytes() {
+            long bytes = postingCount * POSTING_BYTES
+                    + (long) postings.size() * GRAM_BYTES
+                    + (long) texts.size() * TODO_BYTES
+                    + charCount * CHAR_BYTES;
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes));
+        }
+
+        private static Set<String> grams(String text) {
+            int[] cps = text.codePoints().toArray();
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + 1 < cps.length; i++) {
+                grams.add(new String(cps, i, 2));
+            }
+            return grams;
+        }
+    }
+}
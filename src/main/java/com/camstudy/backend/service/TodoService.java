@@ -1,10 +1,13 @@
 // src/main/java/com/camstudy/backend/service/TodoService.java
 package com.camstudy.backend.service;
 
+import com.camstudy.backend.dto.TodoCursor;
+import com.camstudy.backend.dto.TodoPage;
 import com.camstudy.backend.entity.TodoItem;
 import com.camstudy.backend.entity.Window;
 import com.camstudy.backend.repository.TodoItemRepository;
 import com.camstudy.backend.repository.WindowRepository;
+import com.camstudy.backend.util.RankKeys;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,15 +20,28 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TodoService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BULK_IDS = 500;
+
+    public static final String BULK_TOO_LARGE_MESSAGE = "한 번에 처리할 수 있는 투두 수를 초과했습니다.";
+    public static final String INVALID_POSITION_MESSAGE = "잘못된 위치입니다.";
+
     private final TodoItemRepository todoItemRepository;
     private final WindowRepository windowRepository;
+    private final TodoSearchIndex searchIndex;
+    private final WorkspaceVersions workspaceVersions;
+    private final TodoRankRebalancer rankRebalancer;
 
     @Transactional
     public TodoItem addTodo(String userEmail, Long winId, String text) {
@@ -34,25 +50,45 @@ public class TodoService {
         if (!window.getUserId().equals(userEmail)) {
             throw new SecurityException("User does not have permission for this window");
         }
+        String rank = RankKeys.after(todoItemRepository.findMaxSortRank(winId)); // 창 맨 뒤
+        if (rankRebalancer.isTooLong(rank)) {
+            rankRebalancer.rebalance(winId);
+            rank = RankKeys.after(todoItemRepository.findMaxSortRank(winId));
+        }
         TodoItem newTodo = TodoItem.builder()
                 .window(window)
                 .text(text)
                 .done(false)
+                .sortRank(rank)
                 .build();
-        return todoItemRepository.save(newTodo);
+        TodoItem saved = todoItemRepository.save(newTodo);
+        searchIndex.putAfterCommit(userEmail, saved.getId(), text);
+        workspaceVersions.bumpAfterCommit(userEmail);
+        return saved;
     }
 
-    public List<TodoItem> getTodosByWindow(
+    /** 창이 사용자 소유가 아니면 SecurityException (ETag 비교로 304를 주기 전에도 호출) */
+    public void checkWindowOwner(String userEmail, Long winId) {
+        windowRepository.findById(winId)
+            .filter(w -> w.getUserId().equals(userEmail))
+            .orElseThrow(() -> new SecurityException("Permission denied"));
+    }
+
+    /**
+     * 창의 투두 목록. limit/cursor가 모두 없으면 기존처럼 전체를 반환하고,
+     * 있으면 (createdAt, id) keyset 기준으로 다음 limit개만 반환합니다 (OFFSET 없이 인덱스 범위 조회).
+     */
+    public TodoPage getTodosByWindow(
             String userEmail,
             Long winId,
             String date,         // "YYYY-MM-DD" or null
             ZoneId userZone,     // 추가된 파라미터
             Boolean done,
-            String order
+            String order,
+            Integer limit,
+            String cursor
     ) {
-        windowRepository.findById(winId)
-            .filter(w -> w.getUserId().equals(userEmail))
-            .orElseThrow(() -> new SecurityException("Permission denied"));
+        checkWindowOwner(userEmail, winId);
 
         Specification<TodoItem> spec = (root, query, cb) -> {
             List<Predicate> preds = new ArrayList<>();
@@ -69,17 +105,39 @@ public class TodoService {
             return cb.and(preds.toArray(new Predicate[0]));
         };
 
-        Sort sort = "desc".equalsIgnoreCase(order)
-            ? Sort.by(Sort.Direction.DESC, "createdAt")
-            : Sort.by(Sort.Direction.ASC,  "createdAt");
+        if ("rank".equalsIgnoreCase(order)) {
+            // 수동 정렬 순서: 창 하나의 목록이라 페이지 없이 전체 반환 (window_id, sort_rank 인덱스)
+            return new TodoPage(todoItemRepository.findAll(spec, Sort.by("sortRank").and(Sort.by("id"))), null);
+        }
+        return findPage(spec, order, limit, cursor);
+    }
 
-        return todoItemRepository.findAll(spec, sort);
+    /**
+     * 투두를 prevId와 nextId 사이로 옮깁니다 (null이면 맨 앞/맨 뒤). 옮기는 투두 한 행만 바뀝니다.
+     * 두 이웃 사이에 키를 만들 수 없으면(키 중복 등) 창의 순위를 다시 매긴 뒤 한 번 더 시도합니다.
+     */
+    @Transactional
+    public TodoItem move(String userEmail, Long winId, Long todoId, Long prevId, Long nextId) {
+        TodoItem todoItem = findTodoItemForUser(userEmail, winId, todoId);
+        String rank = rankBetween(winId, prevId, nextId);
+        // 자리가 없거나 키가 너무 길어졌으면 이 트랜잭션에서 창 전체를 다시 매기고 다시 계산
+        if (rank == null || rankRebalancer.isTooLong(rank)) {
+            rankRebalancer.rebalance(winId);
+            rank = rankBetween(winId, prevId, nextId);
+            if (rank == null) {
+                throw new RuntimeException(INVALID_POSITION_MESSAGE); // prev가 next보다 뒤인 경우 등
+            }
+        }
+        todoItem.setSortRank(rank);
+        workspaceVersions.bumpAfterCommit(userEmail);
+        return todoItem;
     }
 
     @Transactional
     public TodoItem updateDone(String userEmail, Long winId, Long todoId, boolean done) {
         TodoItem todoItem = findTodoItemForUser(userEmail, winId, todoId);
         todoItem.setDone(done);
+        workspaceVersions.bumpAfterCommit(userEmail);
         return todoItem;
     }
 
@@ -87,21 +145,27 @@ public class TodoService {
     public void deleteTodo(String userEmail, Long winId, Long todoId) {
         TodoItem todoItem = findTodoItemForUser(userEmail, winId, todoId);
         todoItemRepository.delete(todoItem);
+        searchIndex.removeAfterCommit(userEmail, List.of(todoId));
+        workspaceVersions.bumpAfterCommit(userEmail);
     }
 
     @Transactional
     public TodoItem updateText(String userEmail, Long winId, Long todoId, String text) {
         TodoItem todoItem = findTodoItemForUser(userEmail, winId, todoId);
         todoItem.setText(text);
+        searchIndex.putAfterCommit(userEmail, todoId, text);
+        workspaceVersions.bumpAfterCommit(userEmail);
         return todoItem;
     }
 
-    public List<TodoItem> getAllTodosByUser(
+    public TodoPage getAllTodosByUser(
             String userEmail,
             String date,
             ZoneId userZone,    // 추가된 파라미터
             Boolean done,
-            String order
+            String order,
+            Integer limit,
+            String cursor
     ) {
         Specification<TodoItem> spec = (root, query, cb) -> {
             List<Predicate> preds = new ArrayList<>();
@@ -118,17 +182,15 @@ public class TodoService {
             return cb.and(preds.toArray(new Predicate[0]));
         };
 
-        Sort sort = "desc".equalsIgnoreCase(order)
-            ? Sort.by(Sort.Direction.DESC, "createdAt")
-            : Sort.by(Sort.Direction.ASC,  "createdAt");
-
-        return todoItemRepository.findAll(spec, sort);
+        return findPage(spec, order, limit, cursor);
     }
 
     @Transactional
     public TodoItem updateTextGlobal(String userEmail, Long todoId, String text) {
         TodoItem todoItem = findTodoItemForUserGlobal(userEmail, todoId);
         todoItem.setText(text);
+        searchIndex.putAfterCommit(userEmail, todoId, text);
+        workspaceVersions.bumpAfterCommit(userEmail);
         return todoItem;
     }
 
@@ -136,6 +198,7 @@ public class TodoService {
     public TodoItem updateDoneGlobal(String userEmail, Long todoId, boolean done) {
         TodoItem todoItem = findTodoItemForUserGlobal(userEmail, todoId);
         todoItem.setDone(done);
+        workspaceVersions.bumpAfterCommit(userEmail);
         return todoItem;
     }
 
@@ -143,9 +206,122 @@ public class TodoService {
     public void deleteTodoGlobal(String userEmail, Long todoId) {
         TodoItem todoItem = findTodoItemForUserGlobal(userEmail, todoId);
         todoItemRepository.delete(todoItem);
+        searchIndex.removeAfterCommit(userEmail, List.of(todoId));
+        workspaceVersions.bumpAfterCommit(userEmail);
+    }
+
+    /**
+     * 투두 텍스트 부분 문자열 검색 (메모리 n-gram 인덱스 사용, LIKE '%q%' 스캔 없음).
+     * 결과는 최근에 만든 순서입니다.
+     */
+    public List<TodoItem> search(String userEmail, String q, int limit) {
+        List<Long> ids = searchIndex.search(userEmail, q, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TodoItem> byId = new HashMap<>();
+        todoItemRepository.findAllById(ids).forEach(t -> byId.put(t.getId(), t));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * 여러 투두의 done/text를 한 번에 수정합니다.
+     * 항목별 조회/지연 로딩/dirty checking 없이, 소유권 조건이 포함된 UPDATE ... JOIN windows 한 문장으로 처리합니다.
+     */
+    @Transactional
+    public List<Long> bulkUpdate(String userEmail, List<Long> ids, Boolean done, String text) {
+        List<Long> targets = bulkTargets(ids);
+        if (targets.isEmpty() || (done == null && text == null)) {
+            return List.of();
+        }
+        List<Long> owned = todoItemRepository.lockOwnedIds(targets, userEmail);
+        if (!owned.isEmpty()) {
+            todoItemRepository.bulkUpdate(owned, userEmail, done, text);
+            if (text != null) {
+                searchIndex.putAllAfterCommit(userEmail, owned, text);
+            }
+            workspaceVersions.bumpAfterCommit(userEmail);
+        }
+        return owned;
+    }
+
+    /** 여러 투두를 한 번에 삭제 (DELETE ... JOIN windows 한 문장) */
+    @Transactional
+    public List<Long> bulkDelete(String userEmail, List<Long> ids) {
+        List<Long> targets = bulkTargets(ids);
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        List<Long> owned = todoItemRepository.lockOwnedIds(targets, userEmail);
+        if (!owned.isEmpty()) {
+            todoItemRepository.bulkDelete(owned, userEmail);
+            searchIndex.removeAfterCommit(userEmail, owned);
+            workspaceVersions.bumpAfterCommit(userEmail);
+        }
+        return owned;
     }
 
     // --- 헬퍼 메서드 ---
+    // 두 이웃 사이의 새 키. 이웃에 순위가 없거나 사이에 자리가 없으면 null (재정렬 필요)
+    private String rankBetween(Long winId, Long prevId, Long nextId) {
+        String lower = neighborRank(winId, prevId);
+        String upper = neighborRank(winId, nextId);
+        if ("".equals(lower) || "".equals(upper)) {
+            return null;
+        }
+        try {
+            return RankKeys.between(lower, upper);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 같은 창의 이웃 투두 순위 (DB 값, 순위가 아직 없으면 "")
+    private String neighborRank(Long winId, Long neighborId) {
+        if (neighborId == null) {
+            return null;
+        }
+        return todoItemRepository.findSortRank(neighborId, winId)
+                .orElseThrow(() -> new IllegalArgumentException("TodoItem not found"));
+    }
+
+    private TodoPage findPage(Specification<TodoItem> spec, String order, Integer limit, String cursor) {
+        boolean desc = "desc".equalsIgnoreCase(order);
+        Sort.Direction direction = desc ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // createdAt이 같은 항목끼리도 순서가 고정되도록 id를 보조 정렬 키로 사용
+        Sort sort = Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+
+        if (limit == null && cursor == null) {
+            return new TodoPage(todoItemRepository.findAll(spec, sort), null);
+        }
+
+        int pageSize = Math.max(1, Math.min(limit == null ? DEFAULT_PAGE_SIZE : limit, MAX_PAGE_SIZE));
+        Specification<TodoItem> pageSpec = cursor == null ? spec : spec.and(after(TodoCursor.decode(cursor), desc));
+
+        // 한 개 더 읽어서 다음 페이지가 있는지 판단 (count 쿼리 없음)
+        List<TodoItem> rows = todoItemRepository.findBy(pageSpec,
+                q -> q.sortBy(sort).limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new TodoPage(rows, null);
+        }
+        List<TodoItem> items = rows.subList(0, pageSize);
+        TodoItem last = items.get(pageSize - 1);
+        return new TodoPage(items, new TodoCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    // (createdAt, id)가 커서보다 뒤인 행: createdAt > c OR (createdAt = c AND id > id)  (desc면 부등호 반대)
+    private static Specification<TodoItem> after(TodoCursor c, boolean desc) {
+        return (root, query, cb) -> {
+            var createdAt = root.<Instant>get("createdAt");
+            var id = root.<Long>get("id");
+            return desc
+                ? cb.or(cb.lessThan(createdAt, c.createdAt()),
+                        cb.and(cb.equal(createdAt, c.createdAt()), cb.lessThan(id, c.id())))
+                : cb.or(cb.greaterThan(createdAt, c.createdAt()),
+                        cb.and(cb.equal(createdAt, c.createdAt()), cb.greaterThan(id, c.id())));
+        };
+    }
+
     private TodoItem findTodoItemForUser(String userEmail, Long winId, Long todoId) {
         TodoItem todoItem = todoItemRepository.findById(todoId)
                 .orElseThrow(() -> new IllegalArgumentException("TodoItem not found"));
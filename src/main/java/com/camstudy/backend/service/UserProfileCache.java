@@ -0,0 +1,64 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.entity.User;
+import com.camstudy.backend.repository.UserRepository;
+import com.camstudy.backend.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 이메일 → 사용자 프로필(id, username, dailyGoalHours) 캐시.
+ * 타이머 API는 요청마다 목표 시간만 필요하므로 users 테이블 조회를 매번 하지 않도록 합니다.
+ */
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserProfile> cache;
+
+    public UserProfileCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${user-profile-cache.max-size:10000}") long maxSize,
+                            @Value("${user-profile-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.profile");
+    }
+
+    public UserProfile get(String email) {
+        return find(email).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+
+    /** 없는(탈퇴한) 사용자면 empty. 기록 반영처럼 사용자 때문에 전체가 실패하면 안 되는 곳에서 사용 */
+    public Optional<UserProfile> find(String email) {
+        return Optional.ofNullable(cache.get(email, this::load));
+    }
+
+    /** 프로필이 바뀌는 트랜잭션에서 호출: 커밋 후 캐시에서 제거 */
+    public void evictAfterCommit(String email) {
+        TransactionUtil.afterCommit(() -> cache.invalidate(email));
+    }
+
+    private UserProfile load(String email) {
+        return userRepository.findByEmail(email)
+                .map(UserProfile::from)
+                .orElse(null);
+    }
+
+    public record UserProfile(Long id, String username, int dailyGoalHours) {
+        static UserProfile from(User user) {
+            return new UserProfile(user.getId(), user.getUsername(), user.getDailyGoalHours());
+        }
+    }
+}
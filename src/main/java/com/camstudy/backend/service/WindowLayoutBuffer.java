@@ -0,0 +1,150 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.dto.WindowLayoutDelta;
+import com.camstudy.backend.repository.WindowLayoutRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WebSocket으로 들어오는 창 드래그/리사이즈 변경을 창별 최신 값 하나로 합쳐 두었다가,
+ * window-layout.flush-interval-ms 마다 또는 드래그가 끝날 때 사용자별 배치 UPDATE 한 번으로 저장합니다.
+ * 그래서 DB 쓰기 횟수가 마우스 이벤트 수가 아니라 드래그 횟수에 비례합니다.
+ *
+ * 저장은 사용자별 잠금으로 하나씩 실행되므로 한 사용자의 저장이 다른 사용자를 기다리게 하지 않고,
+ * REST 수정은 discard로 그 사용자의 진행 중인 저장이 끝나기를 기다린 뒤 DB에 쓰므로 예전 드래그 값에 덮이지 않습니다.
+ */
+@Slf4j
+@Component
+public class WindowLayoutBuffer {
+
+    private final WindowLayoutRepository layoutRepository;
+    private final WorkspaceVersions workspaceVersions;
+    private final TransactionTemplate txTemplate;
+
+    // userId → 그 사용자의 아직 저장되지 않은 창별 최신 위치·크기 (창 id는 사용자 안에서만 구분되므로 다른 사용자와 섞이지 않음)
+    private final ConcurrentHashMap<String, UserLayouts> users = new ConcurrentHashMap<>();
+
+    public WindowLayoutBuffer(WindowLayoutRepository layoutRepository,
+                              WorkspaceVersions workspaceVersions,
+                              PlatformTransactionManager transactionManager) {
+        this.layoutRepository = layoutRepository;
+        this.workspaceVersions = workspaceVersions;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void add(String userId, WindowLayoutDelta delta) {
+        if (delta == null || delta.id() == null) {
+            return;
+        }
+        // compute 안에서 넣어야 flushAll의 빈 항목 정리와 겹쳐도 변경이 사라지지 않음
+        UserLayouts layouts = users.compute(userId, (key, existing) -> {
+            UserLayouts target = existing != null ? existing : new UserLayouts();
+            target.merge(delta);
+            return target;
+        });
+        if (delta.end()) {
+            flush(userId, layouts);
+        }
+    }
+
+    /**
+     * REST로 같은 창을 직접 수정하기 전에 호출: 모아둔 드래그 값을 버리고, 이미 꺼내서 저장 중인 값이 있으면
+     * 그 저장이 끝날 때까지 기다립니다. 그래서 이후의 REST 쓰기가 항상 예전 드래그 값보다 나중에 반영됩니다.
+     */
+    public void discard(String userId, Collection<Long> windowIds) {
+        UserLayouts layouts = users.get(userId);
+        if (layouts == null) {
+            return;
+        }
+        layouts.persistLock.lock();
+        try {
+            layouts.remove(windowIds);
+        } finally {
+            layouts.persistLock.unlock();
+        }
+    }
+
+    /** 연결이 끊긴 사용자의 남은 변경을 바로 저장 */
+    public void flushUser(String userId) {
+        UserLayouts layouts = users.get(userId);
+        if (layouts != null) {
+            flush(userId, layouts);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${window-layout.flush-interval-ms:1000}")
+    public void flushAll() {
+        users.forEach(this::flush);
+        // 저장할 것도 저장 중인 것도 없는 사용자 항목 정리
+        users.keySet().forEach(userId -> users.computeIfPresent(userId,
+                (key, layouts) -> layouts.isIdle() ? null : layouts));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        users.forEach(this::flush);
+    }
+
+    // 같은 사용자의 저장은 하나씩 (같은 창의 예전 값이 나중 값보다 늦게 저장되지 않도록)
+    private void flush(String userId, UserLayouts layouts) {
+        layouts.persistLock.lock();
+        try {
+            List<WindowLayoutDelta> deltas = layouts.drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                txTemplate.executeWithoutResult(status -> {
+                    if (layoutRepository.updateGeometry(userId, deltas)) {
+                        workspaceVersions.bumpAfterCommit(userId);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 드래그 끝 위치는 다시 오지 않으므로 버리지 않고 다음 주기에 다시 시도 (그 사이 새 값이 오면 새 값 우선)
+                log.warn("Failed to persist {} window layout changes for {}, retrying later", deltas.size(), userId, e);
+                layouts.requeue(deltas);
+            }
+        } finally {
+            layouts.persistLock.unlock();
+        }
+    }
+
+    /** 한 사용자의 저장 대기 중인 창 변경. pending은 synchronized(this), 저장은 persistLock */
+    private static class UserLayouts {
+        final ReentrantLock persistLock = new ReentrantLock();
+        private final Map<Long, WindowLayoutDelta> pending = new HashMap<>();
+
+        synchronized void merge(WindowLayoutDelta delta) {
+            pending.merge(delta.id(), delta, WindowLayoutDelta::mergedWith);
+        }
+
+        // 실패한 값은 그 사이 들어온 새 값보다 앞선 것으로 보고 합침
+        synchronized void requeue(List<WindowLayoutDelta> failed) {
+            failed.forEach(delta -> pending.merge(delta.id(), delta, (newer, old) -> old.mergedWith(newer)));
+        }
+
+        synchronized void remove(Collection<Long> windowIds) {
+            windowIds.forEach(pending::remove);
+        }
+
+        // 잠금 순서를 맞추기 위해 id 순
+        synchronized List<WindowLayoutDelta> drain() {
+            List<WindowLayoutDelta> deltas = new ArrayList<>(pending.values());
+            pending.clear();
+            deltas.sort(Comparator.comparing(WindowLayoutDelta::id));
+            return deltas;
+        }
+
+        synchronized boolean isIdle() {
+            return pending.isEmpty() && !persistLock.isLocked();
+        }
+    }
+}
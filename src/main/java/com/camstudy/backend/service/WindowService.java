@@ -1,21 +1,44 @@
 // src/main/java/com/camstudy/backend/service/WindowService.java
 package com.camstudy.backend.service;
 
+import com.camstudy.backend.dto.WindowFocusResponse;
+import com.camstudy.backend.dto.WindowLayoutItem;
 import com.camstudy.backend.dto.WindowPatchDto;
 import com.camstudy.backend.entity.Window;
+import com.camstudy.backend.repository.WindowLayoutRepository;
 import com.camstudy.backend.repository.WindowRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects; // Objects.requireNonNull을 위해 추가
 
 @Service
 public class WindowService {
 
-    private final WindowRepository windowRepository;
+    private static final int MAX_LAYOUT_WINDOWS = 500;
+
+    public static final String LAYOUT_TOO_LARGE_MESSAGE = "한 번에 저장할 수 있는 창 수를 초과했습니다.";
+    public static final String INVALID_LAYOUT_MESSAGE = "창 배치 요청이 올바르지 않습니다.";
 
-    public WindowService(WindowRepository windowRepository) {
+    private final WindowRepository windowRepository;
+    private final TodoSearchIndex todoSearchIndex;
+    private final WorkspaceVersions workspaceVersions;
+    private final WindowLayoutRepository windowLayoutRepository;
+    private final WindowLayoutBuffer windowLayoutBuffer;
+
+    public WindowService(WindowRepository windowRepository,
+                         TodoSearchIndex todoSearchIndex,
+                         WorkspaceVersions workspaceVersions,
+                         WindowLayoutRepository windowLayoutRepository,
+                         WindowLayoutBuffer windowLayoutBuffer) {
         this.windowRepository = windowRepository;
+        this.windowLayoutRepository = windowLayoutRepository;
+        this.windowLayoutBuffer = windowLayoutBuffer;
+        this.todoSearchIndex = todoSearchIndex;
+        this.workspaceVersions = workspaceVersions;
     }
 
     // findAllByUser 메서드 수정: userEmail을 받아서 해당 사용자의 윈도우만 조회
@@ -29,11 +52,16 @@ public class WindowService {
     public Window create(Window window, String userEmail) {
         // 엔티티에 userId를 설정해야 해당 사용자의 윈도우로 저장됩니다.
         window.setUserId(userEmail); // Window 엔티티에 setUserId 메서드가 있어야 합니다.
-        return windowRepository.save(window);
+        Window saved = windowRepository.save(window);
+        workspaceVersions.bumpAfterCommit(userEmail);
+        return saved;
     }
 
     // partialUpdate 메서드 수정: 해당 사용자의 윈도우만 수정 가능하도록 검증
     public Window partialUpdate(Long id, WindowPatchDto dto, String userEmail) {
+        // 읽기 전에: WebSocket으로 받아둔(또는 저장 중인) 드래그 값이 이 수정을 나중에 덮어쓰지 않고,
+        // 이미 저장된 드래그 값은 아래 조회에 반영되도록 (내 창의 대기 값만 지우므로 소유 확인 전이어도 무방)
+        windowLayoutBuffer.discard(userEmail, List.of(id));
         Window window = windowRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Window not found"));
 
@@ -52,7 +80,9 @@ public class WindowService {
         if (dto.getUrl() != null) window.setUrl(dto.getUrl());
         if (dto.getUrlTitles() != null) window.setUrlTitles(dto.getUrlTitles());
 
-        return windowRepository.save(window);
+        Window saved = windowRepository.save(window);
+        workspaceVersions.bumpAfterCommit(userEmail);
+        return saved;
     }
 
     // delete 메서드 수정: 해당 사용자의 윈도우만 삭제 가능하도록 검증
@@ -64,29 +94,53 @@ public class WindowService {
             throw new RuntimeException("삭제 권한이 없습니다.");
         }
         windowRepository.delete(window);
+        // 창과 함께 지워진 투두들이 검색 결과에 남지 않도록
+        todoSearchIndex.invalidateAfterCommit(userEmail);
+        workspaceVersions.bumpAfterCommit(userEmail);
     }
 
-    // focusWindow 메서드 수정: 해당 사용자의 윈도우만 포커스 가능하도록 검증 및 zIndex 재정렬
-    public List<Window> focusWindow(Long id, String userEmail) {
-        Window focusedWindow = windowRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Window not found"));
+    // focusWindow: 목록을 읽지 않고 조건부 UPDATE 한 문장으로 맨 위로 올린 뒤, 바뀐 창의 z-index만 반환
+    public WindowFocusResponse focusWindow(Long id, String userEmail) {
+        boolean changed = windowLayoutRepository.focus(id, userEmail);
 
-        if (!Objects.equals(focusedWindow.getUserId(), userEmail)) {
+        Map<String, Object> row = windowLayoutRepository.findOwnerAndZIndex(id);
+        if (row == null) {
+            throw new RuntimeException("Window not found");
+        }
+        if (!Objects.equals(row.get("user_id"), userEmail)) {
             throw new RuntimeException("접근 권한이 없습니다.");
         }
+        if (changed) {
+            workspaceVersions.bumpAfterCommit(userEmail);
+        }
+        return new WindowFocusResponse(id, ((Number) row.get("z_index")).intValue());
+    }
 
-        // 현재 사용자의 모든 윈도우를 가져와 zIndex를 재정렬
-        List<Window> userWindows = windowRepository.findWindowsByUserIdOrdered(userEmail); // ZIndex 정렬을 위한 메서드 추가 필요
-
-        int maxZIndex = userWindows.stream()
-                .mapToInt(Window::getZIndex)
-                .max()
-                .orElse(0);
-
-        focusedWindow.setZIndex(maxZIndex + 1);
-        windowRepository.save(focusedWindow);
+    // saveLayout: 작업 공간 배치 전체를 한 트랜잭션에서 저장 (소유 확인 1회 + 배치 UPDATE 1회)
+    @Transactional
+    public void saveLayout(String userEmail, List<WindowLayoutItem> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        if (items.size() > MAX_LAYOUT_WINDOWS) {
+            throw new RuntimeException(LAYOUT_TOO_LARGE_MESSAGE);
+        }
+        if (items.stream().anyMatch(i -> i == null || i.id() == null)
+                || items.stream().map(WindowLayoutItem::id).distinct().count() != items.size()) {
+            throw new RuntimeException(INVALID_LAYOUT_MESSAGE);
+        }
 
-        // 업데이트된 모든 윈도우를 다시 가져와 반환
-        return windowRepository.findWindowsByUserIdOrdered(userEmail);
+        // 잠금 순서를 맞추기 위해 id 순으로 반영
+        List<WindowLayoutItem> sorted = items.stream()
+                .sorted(Comparator.comparing(WindowLayoutItem::id))
+                .toList();
+        List<Long> ids = sorted.stream().map(WindowLayoutItem::id).toList();
+        // 행을 잠그기 전에: 받아둔(또는 저장 중인) 드래그 값이 이 배치를 나중에 덮어쓰지 않도록
+        windowLayoutBuffer.discard(userEmail, ids);
+        if (windowLayoutRepository.lockOwnedCount(userEmail, ids) != ids.size()) {
+            throw new RuntimeException("접근 권한이 없습니다.");
+        }
+        windowLayoutRepository.updateLayout(userEmail, sorted);
+        workspaceVersions.bumpAfterCommit(userEmail);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.repository.WindowLayoutRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 포커스할 때마다 z-index가 1씩 커지므로, window-z.compact-threshold 를 넘은 사용자는
+ * 주기적으로 현재 쌓인 순서 그대로 1..n으로 다시 매깁니다.
+ */
+@Slf4j
+@Component
+public class WindowZIndexCompactor {
+
+    private final WindowLayoutRepository layoutRepository;
+    private final WorkspaceVersions workspaceVersions;
+    private final TransactionTemplate txTemplate;
+    private final int threshold;
+
+    public WindowZIndexCompactor(WindowLayoutRepository layoutRepository,
+                                 WorkspaceVersions workspaceVersions,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${window-z.compact-threshold:10000}") int threshold) {
+        this.layoutRepository = layoutRepository;
+        this.workspaceVersions = workspaceVersions;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.threshold = threshold;
+    }
+
+    @Scheduled(fixedDelayString = "${window-z.compact-interval-ms:3600000}")
+    public void compact() {
+        for (String userId : layoutRepository.findUsersWithZIndexAbove(threshold)) {
+            try {
+                txTemplate.executeWithoutResult(status -> {
+                    layoutRepository.compactZIndexes(userId);
+                    workspaceVersions.bumpAfterCommit(userId); // z-index 값이 바뀌므로 GET /windows 캐시 무효화
+                });
+            } catch (RuntimeException e) {
+                log.warn("Window z-index compaction failed for {}", userId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 작업 공간(창 + 투두) 버전. 조회 API의 ETag로 쓰여, 바뀐 게 없으면 DB 조회 없이 304로 응답합니다.
+ *
+ * 변경이 커밋될 때마다 사용자 버전을 전역 시퀀스의 새 값으로 올립니다.
+ * 캐시에 없는 사용자는 현재 전역 값으로 시작하므로, 제거됐다가 다시 만들어져도 이전에 내준 버전으로 되돌아가지 않습니다.
+ * ETag 앞의 epoch(프로세스 시작 시각)는 재시작/다른 인스턴스의 ETag와 겹치지 않게 하고,
+ * 사용자 id 다이제스트는 버전이 같은 다른 사용자의 ETag와 겹치지 않게 합니다.
+ * (로그아웃 후 다른 계정으로 로그인한 클라이언트가 이전 If-None-Match로 304를 받는 일이 없도록)
+ */
+@Component
+public class WorkspaceVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<String, AtomicLong> versions;
+
+    public WorkspaceVersions(@Value("${workspace-versions.max-size:100000}") long maxSize,
+                             @Value("${workspace-versions.idle-hours:12}") long idleHours) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofHours(idleHours))
+                .build();
+    }
+
+    /**
+     * 현재 버전의 약한 ETag. 응답 본문을 바꾸는 헤더(타임존 등)는 variant로 넘겨 ETag에 포함합니다.
+     * 데이터를 읽기 전에 호출해야 합니다 (읽는 도중 커밋된 변경은 다음 요청에서 반영).
+     */
+    public String etag(String userId, String variant) {
+        long version = current(userId).get();
+        String suffix = (variant == null || variant.isEmpty()) ? "" : "-" + Integer.toHexString(variant.hashCode());
+        return "W/\"" + epoch + "-" + userDigest(userId) + "-" + version + suffix + "\"";
+    }
+
+    // SHA-256 앞 8바이트 (ETag에 이메일을 그대로 노출하지 않음)
+    private static String userDigest(String userId) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(userId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM이 SHA-256을 제공
+        }
+    }
+
+    /** 창/투두를 바꾸는 트랜잭션에서 호출: 커밋 후 버전 증가 (커밋 전에 올리면 이전 데이터가 새 버전으로 캐시될 수 있음) */
+    public void bumpAfterCommit(String userId) {
+        TransactionUtil.afterCommit(() -> current(userId).set(sequence.incrementAndGet()));
+    }
+
+    private AtomicLong current(String userId) {
+        return versions.get(userId, key -> new AtomicLong(sequence.get()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.camstudy.backend.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증을 통과한 액세스 토큰 → principal(이메일) 캐시.
+ * 키는 토큰 원문 대신 SHA-256 다이제스트를 쓰고, 각 항목은 토큰의 exp 시각에 만료됩니다.
+ * 적중/실패/제거 횟수는 /actuator/metrics/cache.* (name=jwt.principal) 로 노출됩니다.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedPrincipal> cache;
+
+    public JwtPrincipalCache(JwtUtil jwtUtil,
+                             MeterRegistry meterRegistry,
+                             @Value("${jwt.principal-cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedPrincipal value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedPrincipal value,
+                                                  long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedPrincipal value,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration; // 조회해도 만료 시각은 그대로
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.principal");
+    }
+
+    /**
+     * 토큰이 유효하면 이메일을, 아니면 null을 반환합니다.
+     * 유효하지 않은 토큰은 캐시에 넣지 않습니다.
+     */
+    public String resolve(String token) {
+        VerifiedPrincipal principal = cache.get(digest(token), key -> verify(token));
+        return principal == null ? null : principal.email();
+    }
+
+    private VerifiedPrincipal verify(String token) {
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims == null || claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+        return new VerifiedPrincipal(claims.getSubject(), claims.getExpiration().getTime());
+    }
+
+    private static long remainingNanos(VerifiedPrincipal principal) {
+        long remainingMillis = principal.expiresAtMillis() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedPrincipal(String email, long expiresAtMillis) {}
+}
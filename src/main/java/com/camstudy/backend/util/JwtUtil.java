@@ -1,54 +1,73 @@
 package com.camstudy.backend.util;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
 
+    private static final long ACCESS_TOKEN_VALIDITY_MS = 60 * 60 * 1000L;            // 1시간
+    private static final long REFRESH_TOKEN_VALIDITY_MS = 60 * 60 * 24 * 7 * 1000L; // 7일
+
+    // 서명 키와 파서는 시작 시 한 번만 만들고 재사용 (JwtParser는 불변이라 스레드 안전)
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
     // secretKey 값을 application.yml 또는 환경 변수에서 읽어옴
-    @Value("${jwt.secretKey}") // application.yml 또는 환경 변수에서 가져오기
-    private String secretKey;
+    // 기존 signWith(HS256, String)과 동일하게 Base64로 디코딩한 바이트를 HMAC 키로 사용 → 기존 토큰과 호환
+    public JwtUtil(@Value("${jwt.secretKey}") String secretKey) {
+        this.signingKey = new SecretKeySpec(Decoders.BASE64.decode(secretKey),
+                SignatureAlgorithm.HS256.getJcaName());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
 
     // 액세스 토큰 생성
     public String createToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000)) // 1시간
-                .signWith(SignatureAlgorithm.HS256, secretKey)
-                .compact();
+        return issue(email, ACCESS_TOKEN_VALIDITY_MS);
     }
 
     // 리프레시 토큰 생성
     public String createRefreshToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 60 * 60 * 24 * 7 * 1000)) // 7일
-                .signWith(SignatureAlgorithm.HS256, secretKey)
-                .compact();
+        return issue(email, REFRESH_TOKEN_VALIDITY_MS);
     }
 
     // 토큰 검증
     public boolean validate(String token) {
+        return parseClaims(token) != null;
+    }
+
+    // 서명 검증과 클레임 파싱을 한 번에 수행 (유효하지 않으면 null)
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false; // 유효하지 않은 토큰
+            return null; // 유효하지 않은 토큰
         }
     }
 
     // 이메일 추출 (토큰에서 이메일 정보 추출)
     public String getEmail(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject(); // 이메일을 subject로 설정
     }
+
+    // JwtBuilder는 상태를 가지므로 재사용하지 않고, 미리 만든 키로 매번 가볍게 생성
+    private String issue(String email, long validityMs) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(email)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
 }
@@ -0,0 +1,87 @@
+package com.camstudy.backend.util;
+
+/**
+ * 수동 정렬용 문자열 순위 키 (0-9a-z, 36진수 소수부처럼 비교).
+ * 두 키 사이에 항상 새 키를 만들 수 있으므로 항목을 옮길 때 그 항목 한 행만 바꾸면 됩니다.
+ * DB 컬럼은 바이너리 정렬(ascii_bin)이어야 Java 문자열 비교와 순서가 같습니다.
+ */
+public class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int SPACED_WIDTH = 6;
+    private static final long SPACED_STEP = (long) BASE * BASE;
+    private static final long SPACED_LIMIT = (long) Math.pow(BASE, SPACED_WIDTH); // 6자리 36진수 상한
+
+    private RankKeys() {}
+
+    /**
+     * lower < 결과 < upper 인 키. lower/upper가 null이면 각각 맨 앞/맨 뒤.
+     * 결과는 '0'으로 끝나지 않으므로 이후에도 그 앞뒤에 계속 끼워 넣을 수 있습니다.
+     * @throws IllegalArgumentException lower >= upper 인 경우 (재정렬 필요)
+     */
+    public static String between(String lower, String upper) {
+        String a = lower == null ? "" : lower;
+        if (upper != null && a.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("no room between " + lower + " and " + upper);
+        }
+        StringBuilder key = new StringBuilder();
+        boolean bounded = upper != null;
+        for (int i = 0; ; i++) {
+            if (bounded && i >= upper.length()) {
+                // upper가 지금까지의 key와 같음 = upper가 '0'들로 끝나 그 아래에 자리가 없음
+                throw new IllegalArgumentException("no room below " + upper);
+            }
+            int low = i < a.length() ? digit(a.charAt(i)) : 0;
+            int high = bounded ? digit(upper.charAt(i)) : BASE;
+            if (low == high) {
+                key.append(DIGITS.charAt(low));
+                continue;
+            }
+            int mid = (low + high) / 2;
+            if (mid > low) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // 두 자리가 이웃한 숫자: low를 쓰고 나면 이후 자리는 위쪽 제한이 없음
+            key.append(DIGITS.charAt(low));
+            bounded = false;
+        }
+    }
+
+    /**
+     * 맨 뒤에 붙일 키. between(lower, null)은 'z' 쪽으로 반씩 다가가 몇 번마다 한 글자씩 길어지므로,
+     * 앞 6자리를 다음 균등 간격 값으로 올려 길이가 늘지 않게 합니다. (6자리가 가득 찬 경우에만 between으로)
+     */
+    public static String after(String lower) {
+        if (lower == null || lower.isEmpty()) {
+            return spaced(1);
+        }
+        long head = 0;
+        for (int i = 0; i < SPACED_WIDTH; i++) {
+            head = head * BASE + (i < lower.length() ? digit(lower.charAt(i)) : 0);
+        }
+        long next = (head / SPACED_STEP + 1) * SPACED_STEP;
+        if (next < SPACED_LIMIT) {
+            return pad(next); // 앞 6자리가 lower보다 크므로 lower < 결과
+        }
+        return between(lower, null);
+    }
+
+    /** n번째(1부터) 항목의 균등 간격 키. 마이그레이션(V3)과 재정렬에서 같은 형식을 씀 */
+    public static String spaced(long n) {
+        return pad(n * SPACED_STEP);
+    }
+
+    private static String pad(long value) {
+        String digits = Long.toString(value, BASE);
+        return "0".repeat(Math.max(0, SPACED_WIDTH - digits.length())) + digits;
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("invalid rank key character: " + c);
+        }
+        return d;
+    }
+}
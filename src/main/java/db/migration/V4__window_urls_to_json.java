@@ -0,0 +1,88 @@
+package db.migration;
+
+import com.camstudy.backend.entity.StringArrayJsonConverter;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * windows.url / url_titles 를 Java 직렬화 BLOB 에서 JSON 텍스트(StringArrayJsonConverter 형식)로 옮깁니다.
+ * 기존 값을 SQL 로는 읽을 수 없어 Java 마이그레이션으로 작성했습니다.
+ * (MySQL DDL 은 자동 커밋되므로, 중간에 실패하면 url_json / url_titles_json 컬럼을 지우고 다시 실행하세요.)
+ */
+public class V4__window_urls_to_json extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    // 직렬화된 String[] 만 허용 (다른 클래스가 들어 있으면 역직렬화하지 않음)
+    private static final ObjectInputFilter STRING_ARRAY_ONLY = info -> {
+        Class<?> type = info.serialClass();
+        if (type == null || type == String[].class || type == String.class) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    };
+
+    private final StringArrayJsonConverter converter = new StringArrayJsonConverter();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE windows ADD COLUMN url_json TEXT NULL, ADD COLUMN url_titles_json TEXT NULL");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery(
+                     "SELECT id, url, url_titles FROM windows WHERE url IS NOT NULL OR url_titles IS NOT NULL");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE windows SET url_json = ?, url_titles_json = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rs.next()) {
+                long id = rs.getLong("id");
+                update.setString(1, toJson(id, rs.getBytes("url")));
+                update.setString(2, toJson(id, rs.getBytes("url_titles")));
+                update.setLong(3, id);
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE windows DROP COLUMN url, DROP COLUMN url_titles");
+            ddl.execute("ALTER TABLE windows RENAME COLUMN url_json TO url, RENAME COLUMN url_titles_json TO url_titles");
+        }
+    }
+
+    private String toJson(long windowId, byte[] stored) throws IOException, ClassNotFoundException {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length > 0 && stored[0] == '[') {
+            return new String(stored, StandardCharsets.UTF_8); // 이미 JSON
+        }
+        // Java 직렬화 스트림은 0xACED 로 시작
+        if (stored.length < 2 || (stored[0] & 0xFF) != 0xAC || (stored[1] & 0xFF) != 0xED) {
+            throw new IllegalStateException("windows.id=" + windowId + ": 알 수 없는 url 저장 형식");
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stored))) {
+            in.setObjectInputFilter(STRING_ARRAY_ONLY);
+            return converter.convertToDatabaseColumn((String[]) in.readObject());
+        }
+    }
+}
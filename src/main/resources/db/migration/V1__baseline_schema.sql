@@ -0,0 +1,97 @@
+-- 기존에 ddl-auto: update 로 만들어지던 스키마.
+-- 이미 운영 중인 DB는 baseline(0) 이후 이 스크립트가 실행되므로 모든 테이블을 IF NOT EXISTS 로 만든다.
+
+CREATE TABLE IF NOT EXISTS users (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    email            VARCHAR(255),
+    password         VARCHAR(255),
+    username         VARCHAR(255),
+    daily_goal_hours INT          NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS timer (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id       VARCHAR(255),
+    date          DATE,
+    total_seconds BIGINT       NOT NULL,
+    pomo_cycles   INT          NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_timer_user_date UNIQUE (user_id, date)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS timer_monthly (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id       VARCHAR(255),
+    stat_year     INT          NOT NULL,
+    stat_month    INT          NOT NULL,
+    total_seconds BIGINT       NOT NULL,
+    mon_seconds   BIGINT       NOT NULL,
+    tue_seconds   BIGINT       NOT NULL,
+    wed_seconds   BIGINT       NOT NULL,
+    thu_seconds   BIGINT       NOT NULL,
+    fri_seconds   BIGINT       NOT NULL,
+    sat_seconds   BIGINT       NOT NULL,
+    sun_seconds   BIGINT       NOT NULL,
+    best_date     DATE,
+    best_seconds  BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_timer_monthly_user_month UNIQUE (user_id, stat_year, stat_month)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS goal_streak (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id        VARCHAR(255),
+    current_streak INT          NOT NULL,
+    longest_streak INT          NOT NULL,
+    last_met_date  DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_goal_streak_user UNIQUE (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS windows (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id    VARCHAR(255),
+    type       ENUM ('none', 'camera', 'youtube', 'window', 'todo', 'timer'),
+    url        BLOB,
+    url_titles BLOB,
+    z_index    INT          NOT NULL,
+    x          INT          NOT NULL,
+    y          INT          NOT NULL,
+    width      INT          NOT NULL,
+    height     INT          NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS todo_items (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    window_id  BIGINT,
+    text       VARCHAR(255),
+    done       BIT          NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todo_items_window FOREIGN KEY (window_id) REFERENCES windows (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS rooms (
+    id            VARCHAR(255) NOT NULL,
+    name          VARCHAR(255),
+    capacity      INT,
+    is_private    BIT,
+    password_hash VARCHAR(255),
+    owner_id      VARCHAR(255),
+    created_at    DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS members (
+    id        VARCHAR(255) NOT NULL,
+    room_id   VARCHAR(255),
+    user_id   VARCHAR(255),
+    role      ENUM ('HOST', 'MEMBER'),
+    active    BIT,
+    joined_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_members_room FOREIGN KEY (room_id) REFERENCES rooms (id)
+) ENGINE = InnoDB;
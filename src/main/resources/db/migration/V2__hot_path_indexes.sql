@@ -0,0 +1,19 @@
+-- 자주 호출되는 조회용 복합 인덱스 (EXPLAIN 회귀 테스트: QueryPlanTest)
+
+-- 로그인 / 프로필 캐시 미스 (findByEmail), 회원가입 중복 확인 (findByUsername)
+CREATE INDEX idx_users_email ON users (email);
+CREATE INDEX idx_users_username ON users (username);
+
+-- 리더보드 재구성 (findUserTotalsByDate: date = ? AND total_seconds > 0)
+-- (user_id, date) 조회는 유니크 키가 처리
+CREATE INDEX idx_timer_date_seconds ON timer (date, total_seconds);
+
+-- 창별 투두 목록 (window_id = ? ORDER BY created_at, id): 보조 인덱스에 PK(id)가 포함되므로 keyset 커서까지 커버
+CREATE INDEX idx_todo_items_window_created ON todo_items (window_id, created_at);
+
+-- 창 목록 (user_id = ? ORDER BY z_index)
+CREATE INDEX idx_windows_user_z ON windows (user_id, z_index);
+
+-- 방 활성 인원 수 (room_id = ? AND active = true) / 방 멤버 조회 (room_id = ? AND user_id = ?)
+CREATE INDEX idx_members_room_active ON members (room_id, active);
+CREATE INDEX idx_members_room_user ON members (room_id, user_id);
@@ -0,0 +1,13 @@
+-- 투두 수동 정렬용 순위 키 (RankKeys). 바이너리 정렬이어야 Java 문자열 비교와 순서가 같다.
+ALTER TABLE todo_items ADD COLUMN sort_rank VARCHAR(64) CHARACTER SET ascii COLLATE ascii_bin NULL;
+
+-- 기존 투두는 창별 생성 순서대로 균등 간격 키 부여 (RankKeys.spaced: n * 36^2 를 36진수 6자리로)
+UPDATE todo_items t
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY window_id ORDER BY created_at, id) AS rn
+    FROM todo_items
+) ranked ON ranked.id = t.id
+SET t.sort_rank = LPAD(LOWER(CONV(ranked.rn * 1296, 10, 36)), 6, '0');
+
+-- 창별 수동 정렬 목록 (window_id = ? ORDER BY sort_rank, id)
+CREATE INDEX idx_todo_items_window_rank ON todo_items (window_id, sort_rank);
@@ -0,0 +1,40 @@
+package com.camstudy.backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringArrayJsonConverterTest {
+
+    private final StringArrayJsonConverter converter = new StringArrayJsonConverter();
+
+    @Test
+    void nullStaysNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void emptyArrayRoundTrips() {
+        assertThat(converter.convertToDatabaseColumn(new String[0])).isEqualTo("[]");
+        assertThat(converter.convertToEntityAttribute("[]")).isEmpty();
+    }
+
+    @Test
+    void nonAsciiAndEscapedValuesRoundTrip() {
+        String[] titles = {"집중 음악 🎧", "제목 \"따옴표\" \\ 역슬래시", "", null, "https://example.com/?q=a&b=é"};
+
+        String json = converter.convertToDatabaseColumn(titles);
+
+        // 한글은 \\u 이스케이프 없이 그대로 저장 (SQL로 읽을 수 있게)
+        assertThat(json).contains("집중 음악 🎧");
+        assertThat(converter.convertToEntityAttribute(json)).containsExactly(titles);
+    }
+
+    @Test
+    void rejectsNonJson() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute("https://not-json"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
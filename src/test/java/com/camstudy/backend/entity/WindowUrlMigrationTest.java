@@ -0,0 +1,188 @@
+package com.camstudy.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V4__window_urls_to_json 회귀 테스트.
+ * V3까지 적용한 MySQL에 변경 전 매핑(변환기 없는 String[])으로 Hibernate가 직접 쓴 행을 넣고 V4를 적용한 뒤,
+ * 모든 값이 StringArrayJsonConverter로 원래 배열로 읽히는지 확인합니다. (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class WindowUrlMigrationTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private final StringArrayJsonConverter converter = new StringArrayJsonConverter();
+
+    @Test
+    void migratesValuesWrittenByThePreviousMapping() throws Exception {
+        flyway("3").migrate();
+
+        LegacyWindow korean = legacy(new String[]{"https://www.youtube.com/watch?v=1", "https://example.com/?q=\"a\""},
+                new String[]{"집중 음악 🎧", "제목 \"따옴표\""});
+        LegacyWindow empty = legacy(new String[0], new String[0]);
+        LegacyWindow none = legacy(null, null);
+        persistWithPreviousMapping(List.of(korean, empty, none));
+        // 이미 JSON 으로 들어간 행은 그대로, 직접 직렬화한 행도 같은 결과
+        long json = insertRaw("[\"https://a.test\"]".getBytes(UTF_8), "[\"에이\"]".getBytes(UTF_8));
+        long serialized = insertRaw(serialize(new String[]{"https://b.test"}), serialize(new String[]{"비"}));
+
+        flyway("latest").migrate();
+
+        try (Connection connection = connect()) {
+            assertThat(columnType(connection, "url")).isEqualTo("text");
+            assertThat(columnType(connection, "url_titles")).isEqualTo("text");
+
+            assertUrls(connection, korean.id, korean.url, korean.urlTitles);
+            assertUrls(connection, empty.id, new String[0], new String[0]);
+            assertUrls(connection, none.id, null, null);
+            assertUrls(connection, json, new String[]{"https://a.test"}, new String[]{"에이"});
+            assertUrls(connection, serialized, new String[]{"https://b.test"}, new String[]{"비"});
+            assertThat(rawUrl(connection, json)).isEqualTo("[\"https://a.test\"]");
+        }
+    }
+
+    private void assertUrls(Connection connection, long id, String[] url, String[] urlTitles) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT url, url_titles FROM windows WHERE id = ?")) {
+            select.setLong(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                assertThat(rs.next()).isTrue();
+                assertThat(converter.convertToEntityAttribute(rs.getString("url"))).as("url of %d", id).isEqualTo(url);
+                assertThat(converter.convertToEntityAttribute(rs.getString("url_titles"))).as("url_titles of %d", id)
+                        .isEqualTo(urlTitles);
+            }
+        }
+    }
+
+    private static String rawUrl(Connection connection, long id) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT url FROM windows WHERE id = ?")) {
+            select.setLong(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static String columnType(Connection connection, String column) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("""
+                SELECT DATA_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'windows' AND COLUMN_NAME = ?
+                """)) {
+            select.setString(1, column);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    // V4 이전 Window 엔티티와 같은 매핑(변환기 없음)으로 Hibernate가 직접 저장
+    private static void persistWithPreviousMapping(List<LegacyWindow> windows) {
+        try (SessionFactory sessionFactory = new Configuration()
+                .addAnnotatedClass(LegacyWindow.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, mysql.getJdbcUrl())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, mysql.getUsername())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, mysql.getPassword())
+                .buildSessionFactory()) {
+            sessionFactory.inTransaction(session -> windows.forEach(session::persist));
+        }
+    }
+
+    private static long insertRaw(byte[] url, byte[] urlTitles) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO windows (user_id, type, url, url_titles, z_index, x, y, width, height)
+                     VALUES ('raw@test.com', 'youtube', ?, ?, 0, 0, 0, 300, 200)
+                     """, Statement.RETURN_GENERATED_KEYS)) {
+            insert.setBytes(1, url);
+            insert.setBytes(2, urlTitles);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private static byte[] serialize(String[] value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static LegacyWindow legacy(String[] url, String[] urlTitles) {
+        LegacyWindow window = new LegacyWindow();
+        window.userId = "legacy@test.com";
+        window.url = url;
+        window.urlTitles = urlTitles;
+        window.width = 300;
+        window.height = 200;
+        return window;
+    }
+
+    private static Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())
+                .target(target)
+                .load();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+    }
+
+    @Entity
+    @Table(name = "windows")
+    static class LegacyWindow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(name = "user_id")
+        String userId;
+
+        String[] url;
+
+        @Column(name = "url_titles")
+        String[] urlTitles;
+
+        @Column(name = "z_index")
+        int zIndex;
+
+        int x;
+        int y;
+        int width;
+        int height;
+    }
+}
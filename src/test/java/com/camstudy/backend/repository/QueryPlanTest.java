@@ -0,0 +1,379 @@
+package com.camstudy.backend.repository;
+
+import com.camstudy.backend.dto.TodoPage;
+import com.camstudy.backend.dto.WindowLayoutDelta;
+import com.camstudy.backend.dto.WindowLayoutItem;
+import com.camstudy.backend.entity.WindowType;
+import com.camstudy.backend.service.TodoRankRebalancer;
+import com.camstudy.backend.service.TodoService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 핫패스 쿼리 플랜 회귀 테스트.
+ * Flyway 마이그레이션을 적용한 MySQL 컨테이너에 데이터를 채운 뒤, 리포지토리/서비스 메서드를 실제로 호출해
+ * 드라이버로 나간 문장과 바인딩 값을 그대로 EXPLAIN 하고, 어떤 테이블이든 풀 스캔(type = ALL / index)으로
+ * 떨어지면 실패합니다. (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "jwt.secretKey=AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final int USERS = 200;
+    private static final int DAYS = 30;
+    private static final int WINDOWS_PER_USER = 5;
+    private static final int TODOS_PER_WINDOW = 10;
+    private static final int ROOMS = 50;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TimerRepository timerRepository;
+
+    @Autowired
+    private TimerUpsertRepository timerUpsertRepository;
+
+    @Autowired
+    private TimerMonthlyRepository timerMonthlyRepository;
+
+    @Autowired
+    private GoalStreakRepository goalStreakRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WindowRepository windowRepository;
+
+    @Autowired
+    private WindowLayoutRepository windowLayoutRepository;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRankRebalancer todoRankRebalancer;
+
+    // 시나리오에서 쓰는 email(7)의 창 / 첫 창의 투두
+    private List<Long> windowIds;
+    private List<Long> todoIds;
+
+    @BeforeAll
+    void seed() {
+        // 행이 너무 적으면 옵티마이저가 인덱스 대신 풀 스캔을 고르므로 실제와 비슷한 분포로 채움
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> timers = new ArrayList<>();
+        List<Object[]> monthly = new ArrayList<>();
+        List<Object[]> streaks = new ArrayList<>();
+        List<Object[]> windows = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            String email = email(u);
+            users.add(new Object[]{email, "pw", "user" + u});
+            for (int d = 0; d < DAYS; d++) {
+                timers.add(new Object[]{email, Date.valueOf(FIRST_DAY.plusDays(d)), (u * 37L + d * 101L) % 20000});
+            }
+            monthly.add(new Object[]{email, 2024, 1});
+            streaks.add(new Object[]{email});
+            for (int w = 0; w < WINDOWS_PER_USER; w++) {
+                windows.add(new Object[]{email, w});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO users (email, password, username, daily_goal_hours) VALUES (?, ?, ?, 2)", users);
+        jdbc.batchUpdate("INSERT INTO timer (user_id, date, total_seconds, pomo_cycles) VALUES (?, ?, ?, 0)", timers);
+        jdbc.batchUpdate("""
+                INSERT INTO timer_monthly (user_id, stat_year, stat_month, total_seconds, mon_seconds, tue_seconds,
+                                           wed_seconds, thu_seconds, fri_seconds, sat_seconds, sun_seconds, best_seconds)
+                VALUES (?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+                """, monthly);
+        jdbc.batchUpdate("INSERT INTO goal_streak (user_id, current_streak, longest_streak) VALUES (?, 0, 0)", streaks);
+        jdbc.batchUpdate("INSERT INTO windows (user_id, type, z_index, x, y, width, height) VALUES (?, 'todo', ?, 0, 0, 300, 200)",
+                windows);
+
+        List<Long> windowIds = jdbc.queryForList("SELECT id FROM windows", Long.class);
+        List<Object[]> todos = new ArrayList<>();
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        for (Long windowId : windowIds) {
+            for (int t = 0; t < TODOS_PER_WINDOW; t++) {
+                todos.add(new Object[]{windowId, "todo " + t, t % 2 == 0,
+                        Timestamp.from(base.plusSeconds(windowId * 600 + t * 60L))});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO todo_items (window_id, text, done, created_at) VALUES (?, ?, ?, ?)", todos);
+
+        List<Object[]> rooms = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        for (int r = 0; r < ROOMS; r++) {
+            rooms.add(new Object[]{room(r), "room" + r});
+            for (int m = 0; m < USERS / ROOMS * 2; m++) {
+                members.add(new Object[]{room(r) + "-" + m, room(r), email((r + m * ROOMS) % USERS), m % 3 != 0});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO rooms (id, name, capacity, is_private) VALUES (?, ?, 6, false)", rooms);
+        jdbc.batchUpdate("INSERT INTO members (id, room_id, user_id, role, active) VALUES (?, ?, ?, 'MEMBER', ?)", members);
+
+        for (String table : List.of("users", "timer", "timer_monthly", "goal_streak", "windows", "todo_items", "rooms", "members")) {
+            jdbc.execute("ANALYZE TABLE " + table);
+        }
+
+        windowIds = jdbc.queryForList("SELECT id FROM windows WHERE user_id = ? ORDER BY id", Long.class, email(7));
+        todoIds = jdbc.queryForList("SELECT id FROM todo_items WHERE window_id = ? ORDER BY id", Long.class, windowIds.get(0));
+    }
+
+    Stream<Arguments> hotPaths() {
+        String user = email(7);
+        LocalDate day = FIRST_DAY.plusDays(3);
+        LocalDate lastDay = FIRST_DAY.plusDays(DAYS - 1);
+        YearMonth month = YearMonth.from(FIRST_DAY);
+        return Stream.of(
+            // TimerRepository / TimerUpsertRepository
+            hotPath("Timer.findByUserIdAndDate", () -> timerRepository.findByUserIdAndDate(user, day)),
+            hotPath("Timer.findDayViews", () -> timerRepository.findDayViews(user, FIRST_DAY, lastDay)),
+            hotPath("Timer.findDailyTotals", () -> timerRepository.findDailyTotals(user, FIRST_DAY, lastDay)),
+            hotPath("Timer.findUserTotalsByDate", () -> timerRepository.findUserTotalsByDate(day)),
+            hotPath("Timer.findDatesMeetingGoal", () -> timerRepository.findDatesMeetingGoal(user, 7200)),
+            hotPath("TimerUpsert.addSeconds", () -> timerUpsertRepository.addSeconds(user, Map.of(day, 10L))),
+            hotPath("TimerUpsert.resetDay", () -> timerUpsertRepository.resetDay(user, day)),
+            hotPath("TimerUpsert.rebuildMonth", () -> timerUpsertRepository.rebuildMonth(user, month)),
+            // TimerMonthlyRepository / GoalStreakRepository
+            hotPath("TimerMonthly.findByUserIdAndStatYearAndStatMonth",
+                    () -> timerMonthlyRepository.findByUserIdAndStatYearAndStatMonth(user, 2024, 1)),
+            hotPath("GoalStreak.findByUserIdForUpdate", () -> goalStreakRepository.findByUserIdForUpdate(user)),
+            // UserRepository
+            hotPath("User.findByEmail", () -> userRepository.findByEmail(user)),
+            hotPath("User.findByUsername", () -> userRepository.findByUsername("user7")),
+            // WindowRepository / WindowLayoutRepository
+            hotPath("Window.findByUserId", () -> windowRepository.findByUserId(user)),
+            hotPath("Window.findWindowsByUserIdOrdered", () -> windowRepository.findWindowsByUserIdOrdered(user)),
+            hotPath("WindowLayout.focus", () -> windowLayoutRepository.focus(windowIds.get(0), user)),
+            hotPath("WindowLayout.findOwnerAndZIndex", () -> windowLayoutRepository.findOwnerAndZIndex(windowIds.get(0))),
+            hotPath("WindowLayout.compactZIndexes", () -> windowLayoutRepository.compactZIndexes(user)),
+            hotPath("WindowLayout.updateGeometry", () -> windowLayoutRepository.updateGeometry(user,
+                    List.of(new WindowLayoutDelta(windowIds.get(0), 10, 20, null, null, true)))),
+            hotPath("WindowLayout.lockOwnedCount + updateLayout", () -> {
+                windowLayoutRepository.lockOwnedCount(user, windowIds);
+                windowLayoutRepository.updateLayout(user,
+                        List.of(new WindowLayoutItem(windowIds.get(0), 1, 2, 300, 200, 3, WindowType.todo)));
+            }),
+            // TodoItemRepository (TodoService 목록 + keyset 커서)
+            hotPath("TodoService.getTodosByWindow after cursor", () -> {
+                TodoPage first = todoService.getTodosByWindow(user, windowIds.get(0), null, UTC, null, null, 3, null);
+                todoService.getTodosByWindow(user, windowIds.get(0), null, UTC, null, null, 3, first.nextCursor());
+            }),
+            hotPath("TodoService.getTodosByWindow manual order",
+                    () -> todoService.getTodosByWindow(user, windowIds.get(0), null, UTC, null, "rank", null, null)),
+            hotPath("TodoService.getAllTodosByUser",
+                    () -> todoService.getAllTodosByUser(user, null, UTC, null, null, 50, null)),
+            hotPath("TodoItem.findAllByWindow_UserId", () -> todoItemRepository.findAllByWindow_UserId(user)),
+            hotPath("TodoItem.findMaxSortRank / findSortRank", () -> {
+                todoItemRepository.findMaxSortRank(windowIds.get(0));
+                todoItemRepository.findSortRank(todoIds.get(0), windowIds.get(0));
+            }),
+            hotPath("TodoItem.findTextsByUserId", () -> todoItemRepository.findTextsByUserId(user)),
+            hotPath("TodoItem.lockOwnedIds + bulkUpdate + bulkDelete", () -> {
+                todoItemRepository.lockOwnedIds(todoIds, user);
+                todoItemRepository.bulkUpdate(todoIds, user, true, null);
+                todoItemRepository.bulkDelete(todoIds, user);
+            }),
+            hotPath("TodoRankRebalancer.rebalance", () -> todoRankRebalancer.rebalance(windowIds.get(0))),
+            // MemberRepository
+            hotPath("Member.countByRoomAndActive",
+                    () -> memberRepository.countByRoomAndActive(roomRepository.getReferenceById(room(3)), true)),
+            hotPath("Member.findByRoomAndUserId",
+                    () -> memberRepository.findByRoomAndUserId(roomRepository.getReferenceById(room(3)), user)),
+            hotPath("Member.countActiveByRoomIds",
+                    () -> memberRepository.countActiveByRoomIds(List.of(room(1), room(2), room(3)))),
+            hotPath("Member.findActiveUserIdsByRoomId", () -> memberRepository.findActiveUserIdsByRoomId(room(3)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotPaths")
+    void hotPathQueryDoesNotScanWholeTable(String name, Runnable hotPath) {
+        // INSERT 는 EXPLAIN 해도 접근 경로가 없으므로 제외 (ON DUPLICATE KEY 충돌 검사는 항상 유니크 인덱스 사용)
+        List<CapturedStatement> statements = captureRolledBack(hotPath).stream()
+                .filter(s -> !s.sql().strip().regionMatches(true, 0, "INSERT", 0, 6))
+                .toList();
+
+        assertThat(statements).as("%s: 실행된 조회/수정 문장이 없음", name).isNotEmpty();
+        for (CapturedStatement statement : statements) {
+            List<Map<String, Object>> rows = jdbc.queryForList("EXPLAIN " + statement.sql(), statement.args());
+            assertThat(rows).isNotEmpty();
+            for (Map<String, Object> row : rows) {
+                Object type = row.get("type");
+                assertThat(type)
+                    .as("%s: table %s uses %s (key=%s)%n%s", name, row.get("table"), type, row.get("key"), statement.sql())
+                    .isNotIn("ALL", "index");
+            }
+        }
+    }
+
+    /** 롤백되는 트랜잭션 안에서 실행하고, 이 스레드가 보낸 문장을 SQL 별로 하나씩 (처음 바인딩 값과 함께) 모음 */
+    private List<CapturedStatement> captureRolledBack(Runnable hotPath) {
+        List<CapturedStatement> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                hotPath.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            CAPTURED.remove();
+        }
+        Map<String, CapturedStatement> distinct = new LinkedHashMap<>();
+        captured.forEach(s -> distinct.putIfAbsent(s.sql(), s));
+        return List.copyOf(distinct.values());
+    }
+
+    private static Arguments hotPath(String name, Runnable hotPath) {
+        return Arguments.of(name, hotPath);
+    }
+
+    record CapturedStatement(String sql, Object[] args) {
+    }
+
+    /**
+     * DataSource 를 감싸 PreparedStatement 의 SQL 과 바인딩 값을 기록합니다.
+     * 스케줄러 등 다른 스레드의 쿼리가 섞이지 않도록 캡처 중인 스레드의 실행만 남깁니다.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return capturing(super.getConnection());
+                        }
+
+                        @Override
+                        public Connection getConnection(String username, String password) throws SQLException {
+                            return capturing(super.getConnection(username, password));
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection capturing(Connection target) {
+            return proxy(Connection.class, target, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (method.getName().equals("prepareStatement")) {
+                    return capturing((PreparedStatement) result, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement target, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return proxy(PreparedStatement.class, target, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    params.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    params.clear();
+                } else if ((name.equals("addBatch") || name.startsWith("execute")) && args == null) {
+                    List<CapturedStatement> captured = CAPTURED.get();
+                    if (captured != null) {
+                        captured.add(new CapturedStatement(sql, params.values().toArray()));
+                    }
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+            // 풀/하이버네이트가 연결·문장을 키로 쓰므로 equals/hashCode 는 프록시 자신 기준
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static String email(int i) {
+        return "plan" + i + "@test.com";
+    }
+
+    private static String room(int i) {
+        return "room-" + i;
+    }
+}
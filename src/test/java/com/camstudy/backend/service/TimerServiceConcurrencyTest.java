@@ -0,0 +1,71 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.entity.Timer;
+import com.camstudy.backend.repository.TimerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TimerServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Autowired
+    private TimerService timerService;
+
+    @Autowired
+    private TimerRepository timerRepository;
+
+    private final String userId = "concurrency-" + UUID.randomUUID() + "@test.com";
+
+    @AfterEach
+    void cleanUp() {
+        timerRepository.deleteAll(timerRepository.findByUserIdAndDateBetween(
+                userId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+    }
+
+    @Test
+    void parallelRecordsSumExactly() throws Exception {
+        // 자정을 넘기는 2분짜리 세션: 1/15에 60초, 1/16에 60초
+        Instant start = Instant.parse("2024-01-15T23:59:00Z");
+        Instant end = Instant.parse("2024-01-16T00:01:00Z");
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(pool.submit(() -> {
+                startSignal.await();
+                timerService.record(userId, start, end, UTC);
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(totalSeconds(LocalDate.of(2024, 1, 15))).isEqualTo(60L * THREADS);
+        assertThat(totalSeconds(LocalDate.of(2024, 1, 16))).isEqualTo(60L * THREADS);
+    }
+
+    private long totalSeconds(LocalDate date) {
+        return timerRepository.findByUserIdAndDate(userId, date)
+                .map(Timer::getTotalSeconds)
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,205 @@
+package com.camstudy.backend.service;
+
+import com.camstudy.backend.repository.TimerUpsertRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * write-behind 저널 복구 / 교체 / 재시도 / dead letter 경로.
+ * DB 대신 mock 리포지토리를 쓰고, 트랜잭션 동기화 콜백(커밋 시 inFlight 제거)은 아무것도 하지 않는 매니저로 돌립니다.
+ */
+class TimerWriteBufferTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 3);
+    private static final int MAX_FAILED_FLUSHES = 2;
+
+    @TempDir
+    Path dir;
+
+    private final TimerUpsertRepository upsertRepository = mock(TimerUpsertRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private TimerWriteBuffer buffer;
+
+    @AfterEach
+    void close() {
+        if (buffer != null) {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    void replaysJournalAndFlushingFileOnStartup() throws Exception {
+        Files.writeString(journal(".flushing"), "a@test.com\t2024-01-03\t30\n");
+        Files.writeString(journal(""), "a@test.com\t2024-01-03\t20\nb@test.com\t2024-01-03\t5\nb@test.com\t2024-01-0"); // 끊긴 줄
+        echoDayTotals();
+
+        buffer = start();
+
+        verify(upsertRepository).addSeconds("a@test.com", Map.of(DAY, 50L));
+        verify(upsertRepository).addSeconds("b@test.com", Map.of(DAY, 5L));
+        assertThat(journal(".flushing")).doesNotExist();
+        assertThat(journal("")).isEmptyFile();
+    }
+
+    @Test
+    void unappliedJournalIsKeptForTheNextFlush() throws Exception {
+        Files.writeString(journal(""), "a@test.com\t2024-01-03\t20\n");
+        databaseDown();
+
+        buffer = start();
+
+        assertThat(buffer.pendingSeconds("a@test.com", DAY)).isEqualTo(20);
+        assertThat(Files.readString(journal(""))).isEqualTo("a@test.com\t2024-01-03\t20\n");
+    }
+
+    @Test
+    void flushRotatesJournalAndKeepsInFlightSecondsVisible() throws Exception {
+        buffer = start();
+        AtomicLong seenDuringPersist = new AtomicLong();
+        when(upsertRepository.addSeconds(any(), anyMap())).thenAnswer(inv -> {
+            // DB 작업 중에도 조회가 막히지 않고, 반영 중인 초가 계속 보여야 함
+            seenDuringPersist.set(CompletableFuture
+                    .supplyAsync(() -> buffer.readConsistent(() -> buffer.pendingSeconds("a@test.com", DAY)))
+                    .get(5, TimeUnit.SECONDS));
+            return inv.getArgument(1);
+        });
+
+        buffer.add("a@test.com", Map.of(DAY, 40L));
+        assertThat(Files.readString(journal(""))).isEqualTo("a@test.com\t2024-01-03\t40\n");
+
+        buffer.flushAndWait();
+
+        assertThat(seenDuringPersist).hasValue(40);
+        assertThat(buffer.pendingSeconds("a@test.com", DAY)).isZero();
+        assertThat(journal("")).isEmptyFile();
+        assertThat(journal(".flushing")).doesNotExist();
+    }
+
+    @Test
+    void transientFailureIsRetriedForThatUserOnly() {
+        buffer = start();
+        when(upsertRepository.addSeconds(eq("a@test.com"), anyMap())).thenAnswer(inv -> inv.getArgument(1));
+        when(upsertRepository.addSeconds(eq("b@test.com"), anyMap()))
+                .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+                .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+                .thenAnswer(inv -> inv.getArgument(1));
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+
+        buffer.add("a@test.com", Map.of(DAY, 10L));
+        buffer.add("b@test.com", Map.of(DAY, 20L));
+        buffer.flushAndWait();
+
+        verify(upsertRepository, times(3)).addSeconds(eq("b@test.com"), anyMap()); // 배치 1번 + 사용자별 2번
+        assertThat(buffer.pendingSeconds("b@test.com", DAY)).isZero();
+        assertThat(journal(".dead")).doesNotExist();
+    }
+
+    @Test
+    void userFailingEveryFlushIsDeadLetteredAfterLimit() throws Exception {
+        buffer = start();
+        when(upsertRepository.addSeconds(any(), anyMap())).thenThrow(new IllegalStateException("bad row"));
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+
+        buffer.add("b@test.com", Map.of(DAY, 20L));
+        buffer.flushAndWait();
+
+        // 첫 실패는 다시 대기열로 (저널에도 다시 기록)
+        assertThat(buffer.pendingSeconds("b@test.com", DAY)).isEqualTo(20);
+        assertThat(Files.readString(journal(""))).isEqualTo("b@test.com\t2024-01-03\t20\n");
+        assertThat(journal(".dead")).doesNotExist();
+
+        buffer.flushAndWait();
+
+        assertThat(buffer.pendingSeconds("b@test.com", DAY)).isZero();
+        assertThat(Files.readString(journal(".dead"))).isEqualTo("b@test.com\t2024-01-03\t20\n");
+        assertThat(journal("")).isEmptyFile();
+    }
+
+    @Test
+    void databaseOutageIsRequeuedWithoutDeadLettering() throws Exception {
+        buffer = start();
+        databaseDown();
+
+        buffer.add("b@test.com", Map.of(DAY, 20L));
+        for (int i = 0; i < MAX_FAILED_FLUSHES + 1; i++) {
+            buffer.flushAndWait();
+        }
+
+        assertThat(buffer.pendingSeconds("b@test.com", DAY)).isEqualTo(20);
+        assertThat(journal(".dead")).doesNotExist();
+    }
+
+    private TimerWriteBuffer start() {
+        TimerWriteBuffer started = new TimerWriteBuffer(upsertRepository,
+                mock(TimerAnalyticsCache.class),
+                mock(LeaderboardService.class),
+                mock(GoalStreakService.class),
+                new NoOpTransactionManager(),
+                jdbcTemplate,
+                true, 5000, false,
+                3, 0, MAX_FAILED_FLUSHES,
+                journal("").toString());
+        started.recover();
+        return started;
+    }
+
+    private void echoDayTotals() {
+        when(upsertRepository.addSeconds(any(), anyMap())).thenAnswer(inv -> inv.getArgument(1));
+    }
+
+    private void databaseDown() {
+        when(upsertRepository.addSeconds(any(), anyMap()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+    }
+
+    private Path journal(String suffix) {
+        return dir.resolve("timer-journal.log" + suffix);
+    }
+
+    // 실제 DB 없이 트랜잭션 동기화(beforeCommit / afterCompletion)만 동작시키는 매니저
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.camstudy.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    @Test
+    void betweenOpenBounds() {
+        String first = RankKeys.between(null, null);
+        assertThat(RankKeys.between(null, first)).isLessThan(first);
+        assertThat(RankKeys.between(first, null)).isGreaterThan(first);
+    }
+
+    @Test
+    void betweenAdjacentDigitsGoesOneLevelDeeper() {
+        String key = RankKeys.between("a", "b");
+        assertThat(key).isGreaterThan("a").isLessThan("b").startsWith("a");
+    }
+
+    @Test
+    void betweenPrefixAndLongerKey() {
+        // lower가 upper의 접두사인 경우
+        String key = RankKeys.between("a", "a5");
+        assertThat(key).isGreaterThan("a").isLessThan("a5");
+        // upper가 lower보다 짧은 경우
+        key = RankKeys.between("a5", "b");
+        assertThat(key).isGreaterThan("a5").isLessThan("b");
+    }
+
+    @Test
+    void betweenUpperEndingInZero() {
+        String key = RankKeys.between(null, RankKeys.spaced(1));
+        assertThat(key).isLessThan(RankKeys.spaced(1));
+        key = RankKeys.between(RankKeys.spaced(1), RankKeys.spaced(2));
+        assertThat(key).isGreaterThan(RankKeys.spaced(1)).isLessThan(RankKeys.spaced(2));
+    }
+
+    @Test
+    void betweenNeverEndsInZero() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of(RankKeys.between(null, null)));
+        for (int i = 0; i < 2000; i++) {
+            int at = random.nextInt(keys.size() + 1);
+            String lower = at == 0 ? null : keys.get(at - 1);
+            String upper = at == keys.size() ? null : keys.get(at);
+            String key = RankKeys.between(lower, upper);
+            assertThat(key).doesNotEndWith("0");
+            keys.add(at, key);
+        }
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void noRoomCases() {
+        assertThatThrownBy(() -> RankKeys.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+        // "a" 와 "a0" 사이에는 키가 없음
+        assertThatThrownBy(() -> RankKeys.between("a", "a0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between(null, "0")).isInstanceOf(IllegalArgumentException.class);
+        // upper가 lower 뒤에 '0'만 붙인 키 (사이 키는 '0'으로 끝나야 함)
+        assertThatThrownBy(() -> RankKeys.between("0001", "000100")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidCharacterRejected() {
+        assertThatThrownBy(() -> RankKeys.between("A", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void spacedKeysAreOrderedAndFixedWidth() {
+        assertThat(RankKeys.spaced(1)).isEqualTo("000100");
+        assertThat(RankKeys.spaced(2)).isEqualTo("000200");
+        assertThat(RankKeys.spaced(1000)).hasSize(6).isGreaterThan(RankKeys.spaced(999));
+    }
+
+    @Test
+    void afterKeepsAppendedKeysShort() {
+        String key = RankKeys.after(null);
+        for (int i = 0; i < 10_000; i++) {
+            String next = RankKeys.after(key);
+            assertThat(next).isGreaterThan(key).hasSize(6);
+            key = next;
+        }
+    }
+
+    @Test
+    void afterLongOrShortKeys() {
+        assertThat(RankKeys.after("i")).isGreaterThan("i").hasSize(6);
+        String deep = "0001zzzzzzzzzzzzzzzz";
+        assertThat(RankKeys.after(deep)).isGreaterThan(deep).hasSize(6);
+        // 6자리가 가득 차면 between으로
+        assertThat(RankKeys.after("zzzzzz")).isGreaterThan("zzzzzz");
+    }
+}